@@ -1,5 +1,6 @@
 package com.raeyncraft.matrixcraft;
 
+import com.raeyncraft.matrixcraft.log.EventCategory;
 import net.neoforged.neoforge.common.ModConfigSpec;
 import org.apache.commons.lang3.tuple.Pair;
 
@@ -61,10 +62,33 @@ public class MatrixCraftConfig {
     public static ModConfigSpec.BooleanValue TRAIL_GLOW;
     public static ModConfigSpec.DoubleValue MAX_RENDER_DISTANCE;
     public static ModConfigSpec.IntValue MAX_TRAILS_PER_TICK;
+    public static ModConfigSpec.BooleanValue TRAIL_ADAPTIVE_BUDGET;
+    public static ModConfigSpec.IntValue TRAIL_TARGET_FPS;
+    public static ModConfigSpec.IntValue TRAIL_MAX_POINTS_PER_FRAME;
+    public static ModConfigSpec.BooleanValue TRAIL_FRUSTUM_CULLING;
+    public static ModConfigSpec.BooleanValue TRAIL_OCCLUSION_CULLING;
     
     // Glass Repair
     public static ModConfigSpec.BooleanValue GLASS_REPAIR_ENABLED;
     public static ModConfigSpec.IntValue GLASS_REPAIR_DELAY;
+    public static ModConfigSpec.IntValue GLASS_REPAIR_MAX_PER_TICK;
+    public static ModConfigSpec.IntValue GLASS_REPAIR_BUDGET_MICROS;
+    public static ModConfigSpec.BooleanValue GLASS_AUDIT_ENABLED;
+    public static ModConfigSpec.IntValue GLASS_AUDIT_INTERVAL;
+    public static ModConfigSpec.IntValue GLASS_AUDIT_SECTIONS_PER_TICK;
+    public static ModConfigSpec.IntValue GLASS_STATS_DUMP_INTERVAL;
+    
+    // Mob Suppression
+    public static ModConfigSpec.IntValue SUPPRESSION_DECISION_CACHE_SIZE;
+    public static ModConfigSpec.IntValue SUPPRESSION_SWEEP_BUDGET_MICROS;
+    
+    // Diagnostic event log
+    public static ModConfigSpec.BooleanValue LOG_GLASS;
+    public static ModConfigSpec.BooleanValue LOG_WALLRUN;
+    public static ModConfigSpec.BooleanValue LOG_BULLET_TRAILS;
+    public static ModConfigSpec.BooleanValue LOG_DYNAMIC_LIGHTS;
+    public static ModConfigSpec.BooleanValue LOG_SUPPRESSION;
+    public static ModConfigSpec.IntValue LOG_RATE_LIMIT;
     
     // Cobwebs
     public static ModConfigSpec.BooleanValue COBWEBS_ENABLED;
@@ -109,6 +133,56 @@ public class MatrixCraftConfig {
             GLASS_REPAIR_DELAY = builder
                 .comment("Delay in seconds before glass repairs")
                 .defineInRange("delay", 5, 1, 3600);
+            GLASS_REPAIR_MAX_PER_TICK = builder
+                .comment("Maximum glass blocks restored per tick (the rest roll over to the next tick)")
+                .defineInRange("maxRepairsPerTick", 256, 1, 65536);
+            GLASS_REPAIR_BUDGET_MICROS = builder
+                .comment("Time budget in microseconds for glass restoration per tick")
+                .defineInRange("repairBudgetMicros", 2000, 50, 50000);
+            GLASS_AUDIT_ENABLED = builder
+                .comment("Periodically compare snapshots of tracked sections off-thread to catch glass changes that bypass normal block updates")
+                .define("auditEnabled", true);
+            GLASS_AUDIT_INTERVAL = builder
+                .comment("Ticks between the start of each audit pass")
+                .defineInRange("auditIntervalTicks", 100, 20, 72000);
+            GLASS_AUDIT_SECTIONS_PER_TICK = builder
+                .comment("Maximum chunk sections snapshotted per tick during an audit pass")
+                .defineInRange("auditSectionsPerTick", 16, 1, 1024);
+            GLASS_STATS_DUMP_INTERVAL = builder
+                .comment("Seconds between writes of matrixcraft/glassrepair-stats.json (0 = only on command)")
+                .defineInRange("statsDumpIntervalSeconds", 0, 0, 86400);
+            builder.pop();
+            
+            // Mob Suppression
+            builder.comment("Safe Haven mob suppression").push("suppression");
+            SUPPRESSION_DECISION_CACHE_SIZE = builder
+                .comment("Spawn decisions cached per level for chunk sections fully inside or outside zones (0 = disabled)")
+                .defineInRange("decisionCacheSize", 1024, 0, 65536);
+            SUPPRESSION_SWEEP_BUDGET_MICROS = builder
+                .comment("Time budget per tick in microseconds for sweeping mobs out of zones (at least one zone is swept per tick while a pass is running)")
+                .defineInRange("sweepBudgetMicros", 500, 10, 50000);
+            builder.pop();
+            
+            // Diagnostic logging
+            builder.comment("Diagnostic event logging (written asynchronously, rate limited per category)").push("logging");
+            LOG_GLASS = builder
+                .comment("Log glass destruction and repair events")
+                .define("glass", true);
+            LOG_WALLRUN = builder
+                .comment("Log wall run detection checks (very verbose)")
+                .define("wallrun", false);
+            LOG_BULLET_TRAILS = builder
+                .comment("Log bullet trail registration")
+                .define("bulletTrails", false);
+            LOG_DYNAMIC_LIGHTS = builder
+                .comment("Log dynamic light tracking")
+                .define("dynamicLights", false);
+            LOG_SUPPRESSION = builder
+                .comment("Log mob suppression events")
+                .define("suppression", true);
+            LOG_RATE_LIMIT = builder
+                .comment("Maximum events logged per category per second (0 = unlimited)")
+                .defineInRange("maxEventsPerSecond", 20, 0, 100000);
             builder.pop();
             
             // Cobwebs
@@ -152,7 +226,7 @@ public class MatrixCraftConfig {
                 .comment("Trail length in ticks")
                 .defineInRange("length", 20, 1, 100);
             TRAIL_DENSITY = builder
-                .comment("Particles per tick")
+                .comment("Trail detail - light points per block of bullet travel near the camera")
                 .defineInRange("density", 3, 1, 10);
             TRAIL_WIDTH = builder
                 .comment("Trail width")
@@ -176,8 +250,23 @@ public class MatrixCraftConfig {
                 .comment("Maximum render distance for trails")
                 .defineInRange("maxDistance", 64.0, 16.0, 256.0);
             MAX_TRAILS_PER_TICK = builder
-                .comment("Maximum trails to render per tick")
+                .comment("Maximum trail updates (new trails and trail segments) emitted per tick")
                 .defineInRange("maxPerTick", 100, 10, 500);
+            TRAIL_ADAPTIVE_BUDGET = builder
+                .comment("Reduce trail detail and length automatically when frame times rise above the target")
+                .define("adaptiveBudget", true);
+            TRAIL_TARGET_FPS = builder
+                .comment("Frame rate the adaptive trail budget tries to hold")
+                .defineInRange("targetFps", 60, 20, 240);
+            TRAIL_MAX_POINTS_PER_FRAME = builder
+                .comment("Hard cap on trail points drawn per frame, shared across all trails")
+                .defineInRange("maxPointsPerFrame", 8192, 512, 65536);
+            TRAIL_FRUSTUM_CULLING = builder
+                .comment("Skip trails and lights for bullets outside the camera's view")
+                .define("frustumCulling", true);
+            TRAIL_OCCLUSION_CULLING = builder
+                .comment("Also skip trails and lights for bullets hidden behind opaque blocks (costs a few block lookups per bullet)")
+                .define("occlusionCulling", false);
             TRAIL_DYNAMIC_LIGHTING = builder
                 .comment("Enable dynamic lighting for bullet trails (torch bullets)")
                 .define("dynamicLighting", true);
@@ -259,6 +348,20 @@ public class MatrixCraftConfig {
         return defaultVal;
     }
     
+    /**
+     * Safely get a boolean config value with default
+     */
+    private static boolean safeGetBoolean(ModConfigSpec.BooleanValue config, boolean defaultVal) {
+        try {
+            if (config != null) {
+                return config.get();
+            }
+        } catch (Exception e) {
+            // Config not loaded yet
+        }
+        return defaultVal;
+    }
+    
     /**
      * Safely get a double config value with default
      */
@@ -357,4 +460,115 @@ public class MatrixCraftConfig {
     public static int getFocusCooldownTicks() {
         return safeGetInt(FOCUS_COOLDOWN_SECONDS, 60) * 20;
     }
+    
+    /**
+     * Get maximum glass blocks restored per tick
+     */
+    public static int getGlassRepairMaxPerTick() {
+        return safeGetInt(GLASS_REPAIR_MAX_PER_TICK, 256);
+    }
+    
+    /**
+     * Get glass restoration time budget per tick in nanoseconds
+     */
+    public static long getGlassRepairBudgetNanos() {
+        return safeGetInt(GLASS_REPAIR_BUDGET_MICROS, 2000) * 1000L;
+    }
+    
+    /**
+     * Whether the off-thread glass snapshot audit runs
+     */
+    public static boolean isGlassAuditEnabled() {
+        return safeGetBoolean(GLASS_AUDIT_ENABLED, true);
+    }
+    
+    /**
+     * Get ticks between glass audit passes
+     */
+    public static int getGlassAuditIntervalTicks() {
+        return safeGetInt(GLASS_AUDIT_INTERVAL, 100);
+    }
+    
+    /**
+     * Get maximum sections snapshotted per tick by the glass audit
+     */
+    public static int getGlassAuditSectionsPerTick() {
+        return safeGetInt(GLASS_AUDIT_SECTIONS_PER_TICK, 16);
+    }
+    
+    /**
+     * Get ticks between automatic glass stats dumps, 0 if disabled
+     */
+    public static int getGlassStatsDumpIntervalTicks() {
+        return safeGetInt(GLASS_STATS_DUMP_INTERVAL, 0) * 20;
+    }
+    
+    /**
+     * Whether a diagnostic event log category is switched on
+     */
+    public static boolean isEventLogCategoryEnabled(EventCategory category) {
+        return switch (category) {
+            case GLASS -> safeGetBoolean(LOG_GLASS, true);
+            case WALLRUN -> safeGetBoolean(LOG_WALLRUN, false);
+            case BULLET_TRAIL -> safeGetBoolean(LOG_BULLET_TRAILS, false);
+            case DYNAMIC_LIGHT -> safeGetBoolean(LOG_DYNAMIC_LIGHTS, false);
+            case SUPPRESSION -> safeGetBoolean(LOG_SUPPRESSION, true);
+        };
+    }
+    
+    /**
+     * Get per-category event log rate limit, 0 if unlimited
+     */
+    public static int getEventLogRateLimit() {
+        return safeGetInt(LOG_RATE_LIMIT, 20);
+    }
+    
+    /**
+     * Get maximum cached spawn suppression decisions per level, 0 if disabled
+     */
+    public static int getSuppressionDecisionCacheSize() {
+        return safeGetInt(SUPPRESSION_DECISION_CACHE_SIZE, 1024);
+    }
+    
+    /**
+     * Get suppression zone sweep time budget per tick in nanoseconds
+     */
+    public static long getSuppressionSweepBudgetNanos() {
+        return safeGetInt(SUPPRESSION_SWEEP_BUDGET_MICROS, 500) * 1000L;
+    }
+    
+    /**
+     * Whether bullet trail detail adapts to frame times
+     */
+    public static boolean isTrailAdaptiveBudgetEnabled() {
+        return safeGetBoolean(TRAIL_ADAPTIVE_BUDGET, true);
+    }
+    
+    /**
+     * Get the frame time the adaptive trail budget aims for in nanoseconds
+     */
+    public static long getTrailTargetFrameNanos() {
+        return 1_000_000_000L / safeGetInt(TRAIL_TARGET_FPS, 60);
+    }
+    
+    /**
+     * Get the hard cap on bullet trail points drawn per frame
+     */
+    public static int getTrailMaxPointsPerFrame() {
+        return safeGetInt(TRAIL_MAX_POINTS_PER_FRAME, 8192);
+    }
+    
+    /**
+     * Whether bullet trails outside the camera frustum are skipped
+     */
+    public static boolean isTrailFrustumCullingEnabled() {
+        return safeGetBoolean(TRAIL_FRUSTUM_CULLING, true);
+    }
+    
+    /**
+     * Whether bullet trails hidden behind opaque blocks are skipped
+     */
+    public static boolean isTrailOcclusionCullingEnabled() {
+        return safeGetBoolean(TRAIL_OCCLUSION_CULLING, false);
+    }
 }
@@ -1,5 +1,6 @@
 package com.raeyncraft.matrixcraft;
 
+import com.raeyncraft.matrixcraft.registry.ModBlockEntities;
 import com.raeyncraft.matrixcraft.registry.ModBlocks;
 import com.raeyncraft.matrixcraft.bullettime.registry.BulletTimeRegistry;
 import com.raeyncraft.matrixcraft.wallrun.MatrixWallRunEventHandler;
@@ -35,6 +36,7 @@ public class MatrixCraftMod {
 
         // Register Custom Blocks
         ModBlocks.BLOCKS.register(modEventBus);
+        ModBlockEntities.BLOCK_ENTITIES.register(modEventBus);
 
         // Register configs
         // COMMON config - server-side settings (duration, cooldown, glass repair, cobwebs)
@@ -0,0 +1,150 @@
+package com.raeyncraft.matrixcraft.client;
+
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import net.minecraft.world.entity.Entity;
+
+import java.util.Arrays;
+
+/**
+ * Per-bullet state for BulletTrailTracker, stored as parallel arrays.
+ *
+ * Entity ids map to slots through an open-addressing int->int map. Slots are kept
+ * dense - removing a bullet moves the last slot into its place - so iterating is a
+ * plain loop over 0..size() and freed slots are reused by the next bullet. Arrays
+ * only grow when more bullets are live than ever before, so steady-state tracking
+ * allocates nothing.
+ */
+public class BulletStateStore {
+
+    public static final int NONE = -1;
+
+    private final Int2IntOpenHashMap slots = new Int2IntOpenHashMap();
+
+    private int[] ids;
+    private Entity[] entities;
+    // Set once the bullet's trail and lights have been started
+    private boolean[] processed;
+    // Position at the previous trail update, set when the bullet is processed
+    private double[] lastX;
+    private double[] lastY;
+    private double[] lastZ;
+    private int size = 0;
+
+    public BulletStateStore(int initialCapacity) {
+        slots.defaultReturnValue(NONE);
+        ids = new int[initialCapacity];
+        entities = new Entity[initialCapacity];
+        processed = new boolean[initialCapacity];
+        lastX = new double[initialCapacity];
+        lastY = new double[initialCapacity];
+        lastZ = new double[initialCapacity];
+    }
+
+    /**
+     * Register a bullet, or return its existing slot
+     */
+    public int add(Entity entity) {
+        int id = entity.getId();
+        int slot = slots.get(id);
+        if (slot != NONE) {
+            entities[slot] = entity;
+            return slot;
+        }
+
+        if (size == ids.length) grow();
+        slot = size++;
+        ids[slot] = id;
+        entities[slot] = entity;
+        processed[slot] = false;
+        slots.put(id, slot);
+        return slot;
+    }
+
+    /**
+     * Remove a bullet by entity id. The last slot is moved into the freed one, so a
+     * caller iterating upwards must revisit the same slot index.
+     * @return true if the bullet was tracked
+     */
+    public boolean remove(int id) {
+        int slot = slots.remove(id);
+        if (slot == NONE) return false;
+        removeSlot(slot);
+        return true;
+    }
+
+    /**
+     * Remove the bullet at a slot (see {@link #remove})
+     */
+    public void removeAt(int slot) {
+        slots.remove(ids[slot]);
+        removeSlot(slot);
+    }
+
+    private void removeSlot(int slot) {
+        int last = --size;
+        if (slot != last) {
+            ids[slot] = ids[last];
+            entities[slot] = entities[last];
+            processed[slot] = processed[last];
+            lastX[slot] = lastX[last];
+            lastY[slot] = lastY[last];
+            lastZ[slot] = lastZ[last];
+            slots.put(ids[slot], slot);
+        }
+        entities[last] = null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int idAt(int slot) {
+        return ids[slot];
+    }
+
+    public Entity entityAt(int slot) {
+        return entities[slot];
+    }
+
+    public boolean isProcessed(int slot) {
+        return processed[slot];
+    }
+
+    public void markProcessed(int slot) {
+        processed[slot] = true;
+    }
+
+    public double lastX(int slot) {
+        return lastX[slot];
+    }
+
+    public double lastY(int slot) {
+        return lastY[slot];
+    }
+
+    public double lastZ(int slot) {
+        return lastZ[slot];
+    }
+
+    public void setLastPos(int slot, double x, double y, double z) {
+        lastX[slot] = x;
+        lastY[slot] = y;
+        lastZ[slot] = z;
+    }
+
+    public void clear() {
+        Arrays.fill(entities, 0, size, null);
+        slots.clear();
+        size = 0;
+    }
+
+    private void grow() {
+        int capacity = Math.max(16, ids.length * 2);
+        ids = Arrays.copyOf(ids, capacity);
+        entities = Arrays.copyOf(entities, capacity);
+        processed = Arrays.copyOf(processed, capacity);
+        lastX = Arrays.copyOf(lastX, capacity);
+        lastY = Arrays.copyOf(lastY, capacity);
+        lastZ = Arrays.copyOf(lastZ, capacity);
+    }
+}
@@ -0,0 +1,151 @@
+package com.raeyncraft.matrixcraft.client;
+
+import com.raeyncraft.matrixcraft.MatrixCraftConfig;
+import net.neoforged.api.distmarker.Dist;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.client.event.RenderFrameEvent;
+
+/**
+ * Bullet Trail Budget - decides how much trail detail the client can afford.
+ *
+ * Frame times are smoothed into a moving average. Once per tick the global quality
+ * factor is cut back sharply while frames are slower than the target and creeps back
+ * up while they are comfortably faster, so heavy fights shed trail work before the
+ * frame rate drops and recover it once things calm down.
+ *
+ * Per bullet, detail also falls off with distance from the camera: full detail near
+ * the player, down to {@link #FAR_DETAIL} at the render distance limit. Detail drives
+ * how often a bullet adds a trail point, how many lights it leaves and how long its
+ * trail lives. On top of that, trail updates per tick are capped by maxPerTick.
+ */
+@EventBusSubscriber(value = Dist.CLIENT)
+public class BulletTrailBudget {
+
+    // Detail kept at the render distance limit, before load scaling
+    private static final float FAR_DETAIL = 0.2f;
+    // Fraction of the render distance drawn at full detail
+    private static final float NEAR_FRACTION = 0.25f;
+    // Quality never drops below this, so distant fights still show something
+    private static final float MIN_QUALITY = 0.1f;
+    // Quality is multiplied by this each tick while frames are too slow
+    private static final float DECREASE_FACTOR = 0.85f;
+    // ...and raised by this each tick while frames are fast enough
+    private static final float INCREASE_STEP = 0.02f;
+    // Smoothing weight of the newest frame time
+    private static final double FRAME_EWMA_WEIGHT = 0.1;
+    // Gaps longer than this are pauses or loading screens, not slow frames
+    private static final long MAX_FRAME_NANOS = 250_000_000L;
+    // Slowest stride between trail points (ticks)
+    private static final int MAX_STRIDE = 8;
+
+    private static long lastFrameNanos = 0;
+    private static double frameNanosAverage = 0;
+    private static float quality = 1.0f;
+    private static int tick = 0;
+    private static int updatesLeft = 0;
+
+    @SubscribeEvent
+    public static void onRenderFrame(RenderFrameEvent.Pre event) {
+        long now = System.nanoTime();
+        if (lastFrameNanos != 0) {
+            long frameNanos = now - lastFrameNanos;
+            if (frameNanos < MAX_FRAME_NANOS) {
+                frameNanosAverage = frameNanosAverage == 0
+                        ? frameNanos
+                        : frameNanosAverage + (frameNanos - frameNanosAverage) * FRAME_EWMA_WEIGHT;
+            }
+        }
+        lastFrameNanos = now;
+    }
+
+    /**
+     * Adjust quality from recent frame times and refill the per-tick update budget.
+     * Called once per client tick, before any trail is updated.
+     */
+    public static void beginTick() {
+        tick++;
+
+        if (!MatrixCraftConfig.isTrailAdaptiveBudgetEnabled()) {
+            quality = 1.0f;
+        } else if (frameNanosAverage > 0) {
+            double target = MatrixCraftConfig.getTrailTargetFrameNanos();
+            if (frameNanosAverage > target * 1.05) {
+                quality = Math.max(MIN_QUALITY, quality * DECREASE_FACTOR);
+            } else if (frameNanosAverage < target * 0.9) {
+                quality = Math.min(1.0f, quality + INCREASE_STEP);
+            }
+        }
+
+        updatesLeft = Math.max(1, Math.round(MatrixCraftConfig.MAX_TRAILS_PER_TICK.get() * quality));
+    }
+
+    /**
+     * Take one trail update (a new trail or a segment) from this tick's budget
+     * @return false once the budget is spent
+     */
+    public static boolean tryConsumeUpdate() {
+        if (updatesLeft <= 0) return false;
+        updatesLeft--;
+        return true;
+    }
+
+    public static boolean hasUpdatesLeft() {
+        return updatesLeft > 0;
+    }
+
+    /**
+     * Detail for a bullet at a squared distance from the camera, 1 at full detail
+     */
+    public static float getDetail(double distSq, double maxDist) {
+        double near = maxDist * NEAR_FRACTION;
+        float distanceDetail;
+        if (distSq <= near * near) {
+            distanceDetail = 1.0f;
+        } else {
+            double t = Math.min(1.0, (Math.sqrt(distSq) - near) / (maxDist - near));
+            distanceDetail = (float) (1.0 - t * (1.0 - FAR_DETAIL));
+        }
+        return Math.max(MIN_QUALITY * FAR_DETAIL, distanceDetail * quality);
+    }
+
+    /**
+     * Whether a bullet at the given detail adds a trail point this tick. Low detail
+     * bullets add one every few ticks, staggered by id so they don't all land together.
+     */
+    public static boolean isPointTick(int bulletId, float detail) {
+        int stride = Math.min(MAX_STRIDE, Math.max(1, Math.round(1.0f / detail)));
+        return stride == 1 || (tick + bulletId) % stride == 0;
+    }
+
+    /**
+     * Number of lights to place along a stretch of trail
+     */
+    public static int getLightPoints(double distance, float detail, int max) {
+        int density = MatrixCraftConfig.TRAIL_DENSITY.get();
+        return Math.min(max, Math.max(1, (int) (distance * density * detail)));
+    }
+
+    /**
+     * Trail lifetime in ticks for a bullet at the given detail
+     */
+    public static int getLifetimeTicks(float detail) {
+        int full = MatrixCraftConfig.TRAIL_LENGTH.get() + 5;
+        return Math.max(2, Math.round(full * Math.max(FAR_DETAIL, detail)));
+    }
+
+    /**
+     * Points the renderer may draw this frame across all trails
+     */
+    public static int getFramePointBudget() {
+        return Math.max(2, Math.round(MatrixCraftConfig.getTrailMaxPointsPerFrame() * quality));
+    }
+
+    public static float getQuality() {
+        return quality;
+    }
+
+    public static double getAverageFrameMillis() {
+        return frameNanosAverage / 1_000_000.0;
+    }
+}
@@ -0,0 +1,148 @@
+package com.raeyncraft.matrixcraft.client;
+
+import com.raeyncraft.matrixcraft.MatrixCraftConfig;
+import net.minecraft.core.BlockPos;
+import net.minecraft.util.Mth;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.Vec3;
+import net.neoforged.api.distmarker.Dist;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.client.event.ClientPlayerNetworkEvent;
+import net.neoforged.neoforge.client.event.RenderLevelStageEvent;
+import org.joml.FrustumIntersection;
+import org.joml.Matrix4f;
+
+/**
+ * Bullet Trail Culling - decides whether a stretch of bullet path can be seen.
+ *
+ * The camera frustum is captured once per frame from the level render and tested
+ * against a segment's bounding box (camera-relative, so floats stay precise). Ticks
+ * run between frames, so the box is grown by a small margin to cover the camera
+ * having moved since.
+ *
+ * The optional occlusion test walks the block grid from the camera to the segment's
+ * ends and middle, and calls the segment hidden only if every walk hits an opaque
+ * block. It costs a few block lookups per bullet and never allocates.
+ */
+@EventBusSubscriber(value = Dist.CLIENT)
+public class BulletTrailCulling {
+
+    // Growth of the tested box to cover camera movement since the frustum was captured
+    private static final float FRUSTUM_MARGIN = 1.0f;
+    // Longest ray walked by the occlusion test, in blocks crossed
+    private static final int MAX_OCCLUSION_STEPS = 256;
+
+    private static final FrustumIntersection frustum = new FrustumIntersection();
+    private static final Matrix4f viewProjection = new Matrix4f();
+    private static final BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
+    private static boolean hasFrustum = false;
+    private static double cameraX, cameraY, cameraZ;
+
+    @SubscribeEvent
+    public static void onRenderLevelStage(RenderLevelStageEvent event) {
+        if (event.getStage() != RenderLevelStageEvent.Stage.AFTER_SKY) return;
+
+        viewProjection.set(event.getProjectionMatrix()).mul(event.getModelViewMatrix());
+        frustum.set(viewProjection);
+        Vec3 camera = event.getCamera().getPosition();
+        cameraX = camera.x;
+        cameraY = camera.y;
+        cameraZ = camera.z;
+        hasFrustum = true;
+    }
+
+    @SubscribeEvent
+    public static void onLoggingOut(ClientPlayerNetworkEvent.LoggingOut event) {
+        hasFrustum = false;
+    }
+
+    /**
+     * Whether any part of the segment from (x0, y0, z0) to (x1, y1, z1) may be on screen.
+     * Always true when culling is switched off or no frame has been rendered yet.
+     */
+    public static boolean isSegmentVisible(Level level, double x0, double y0, double z0,
+                                           double x1, double y1, double z1) {
+        if (!hasFrustum) return true;
+        boolean frustumCulling = MatrixCraftConfig.isTrailFrustumCullingEnabled();
+        boolean occlusionCulling = MatrixCraftConfig.isTrailOcclusionCullingEnabled();
+        if (!frustumCulling && !occlusionCulling) return true;
+
+        if (frustumCulling && !isInFrustum(x0, y0, z0, x1, y1, z1)) {
+            return false;
+        }
+        if (occlusionCulling && isOccluded(level, x0, y0, z0, x1, y1, z1)) {
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean isInFrustum(double x0, double y0, double z0, double x1, double y1, double z1) {
+        float minX = (float) (Math.min(x0, x1) - cameraX) - FRUSTUM_MARGIN;
+        float minY = (float) (Math.min(y0, y1) - cameraY) - FRUSTUM_MARGIN;
+        float minZ = (float) (Math.min(z0, z1) - cameraZ) - FRUSTUM_MARGIN;
+        float maxX = (float) (Math.max(x0, x1) - cameraX) + FRUSTUM_MARGIN;
+        float maxY = (float) (Math.max(y0, y1) - cameraY) + FRUSTUM_MARGIN;
+        float maxZ = (float) (Math.max(z0, z1) - cameraZ) + FRUSTUM_MARGIN;
+        return frustum.testAab(minX, minY, minZ, maxX, maxY, maxZ);
+    }
+
+    /**
+     * Hidden only if the segment's ends and middle are all behind opaque blocks
+     */
+    private static boolean isOccluded(Level level, double x0, double y0, double z0, double x1, double y1, double z1) {
+        return isRayBlocked(level, x1, y1, z1)
+                && isRayBlocked(level, x0, y0, z0)
+                && isRayBlocked(level, (x0 + x1) * 0.5, (y0 + y1) * 0.5, (z0 + z1) * 0.5);
+    }
+
+    /**
+     * Walk the blocks between the camera and a point (Amanatides-Woo). The blocks
+     * holding the camera and the point are not counted.
+     */
+    private static boolean isRayBlocked(Level level, double tx, double ty, double tz) {
+        double dx = tx - cameraX;
+        double dy = ty - cameraY;
+        double dz = tz - cameraZ;
+
+        int x = Mth.floor(cameraX);
+        int y = Mth.floor(cameraY);
+        int z = Mth.floor(cameraZ);
+        int endX = Mth.floor(tx);
+        int endY = Mth.floor(ty);
+        int endZ = Mth.floor(tz);
+
+        int stepX = dx > 0 ? 1 : -1;
+        int stepY = dy > 0 ? 1 : -1;
+        int stepZ = dz > 0 ? 1 : -1;
+        // Ray parameter (0 at the camera, 1 at the point) per block crossed on each axis
+        double deltaX = dx == 0 ? Double.MAX_VALUE : Math.abs(1.0 / dx);
+        double deltaY = dy == 0 ? Double.MAX_VALUE : Math.abs(1.0 / dy);
+        double deltaZ = dz == 0 ? Double.MAX_VALUE : Math.abs(1.0 / dz);
+        // Ray parameter at the next boundary on each axis
+        double nextX = dx == 0 ? Double.MAX_VALUE : (stepX > 0 ? x + 1 - cameraX : cameraX - x) * deltaX;
+        double nextY = dy == 0 ? Double.MAX_VALUE : (stepY > 0 ? y + 1 - cameraY : cameraY - y) * deltaY;
+        double nextZ = dz == 0 ? Double.MAX_VALUE : (stepZ > 0 ? z + 1 - cameraZ : cameraZ - z) * deltaZ;
+
+        for (int i = 0; i < MAX_OCCLUSION_STEPS; i++) {
+            // Next boundary lies beyond the point - nothing in between
+            if (Math.min(nextX, Math.min(nextY, nextZ)) > 1.0) return false;
+
+            if (nextX < nextY && nextX < nextZ) {
+                x += stepX;
+                nextX += deltaX;
+            } else if (nextY < nextZ) {
+                y += stepY;
+                nextY += deltaY;
+            } else {
+                z += stepZ;
+                nextZ += deltaZ;
+            }
+            if (x == endX && y == endY && z == endZ) return false;
+
+            cursor.set(x, y, z);
+            if (level.getBlockState(cursor).isSolidRender(level, cursor)) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,310 @@
+package com.raeyncraft.matrixcraft.client;
+
+import com.mojang.blaze3d.platform.GlStateManager;
+import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.vertex.BufferBuilder;
+import com.mojang.blaze3d.vertex.BufferUploader;
+import com.mojang.blaze3d.vertex.DefaultVertexFormat;
+import com.mojang.blaze3d.vertex.MeshData;
+import com.mojang.blaze3d.vertex.Tesselator;
+import com.mojang.blaze3d.vertex.VertexFormat;
+import com.raeyncraft.matrixcraft.MatrixCraftConfig;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.GameRenderer;
+import net.minecraft.world.phys.Vec3;
+import net.neoforged.api.distmarker.Dist;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.client.event.ClientPlayerNetworkEvent;
+import net.neoforged.neoforge.client.event.ClientTickEvent;
+import net.neoforged.neoforge.client.event.RenderLevelStageEvent;
+import org.joml.Matrix4fStack;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+
+/**
+ * Bullet Trail Renderer - draws every bullet trail as a camera-facing ribbon.
+ *
+ * Each bullet owns a fixed-capacity ring of trail points held in primitive float arrays
+ * (relative to a per-trail origin, so floats keep their precision far from 0,0). Once
+ * per frame all ribbons are written into one buffer and drawn with a single upload, and
+ * rings are pooled, so no objects are created per point or per frame.
+ *
+ * A ribbon is two quads wide per segment - bright along the bullet's path, fading to
+ * transparent at the edges - and its points fade out and widen with age the same way
+ * the old trail particles did.
+ *
+ * Each ribbon carries its own lifetime, set by BulletTrailBudget from the bullet's
+ * distance and the current load. Points drawn per frame are capped by the budget too:
+ * when there are more than the cap allows, every ribbon is cut back to its newest points.
+ */
+@EventBusSubscriber(value = Dist.CLIENT)
+public class BulletTrailRenderer {
+
+    // Points per ribbon (trail length is at most 100 ticks, one point per tick plus the seed)
+    private static final int RING_CAPACITY = 128;
+    // Matches the old particle's HDR color boost (clamped to 1 by the vertex format)
+    private static final float COLOR_BOOST = 1.8f;
+    // Fraction of a point's life after which it starts fading
+    private static final float FADE_START = 0.6f;
+
+    /**
+     * Ring of trail points for one bullet
+     */
+    private static final class TrailRibbon {
+        final float[] xs = new float[RING_CAPACITY];
+        final float[] ys = new float[RING_CAPACITY];
+        final float[] zs = new float[RING_CAPACITY];
+        final int[] births = new int[RING_CAPACITY];
+        double originX, originY, originZ;
+        int head = 0;   // slot of the oldest point
+        int count = 0;
+        int bulletId = -1;
+        int lifetime = 0;
+
+        void reset(int bulletId, double x, double y, double z) {
+            this.bulletId = bulletId;
+            this.originX = x;
+            this.originY = y;
+            this.originZ = z;
+            this.head = 0;
+            this.count = 0;
+        }
+
+        void add(double x, double y, double z, int birth) {
+            int slot;
+            if (count == RING_CAPACITY) {
+                slot = head;
+                head = (head + 1) % RING_CAPACITY;
+            } else {
+                slot = (head + count) % RING_CAPACITY;
+                count++;
+            }
+            xs[slot] = (float) (x - originX);
+            ys[slot] = (float) (y - originY);
+            zs[slot] = (float) (z - originZ);
+            births[slot] = birth;
+        }
+
+        void expire(int now) {
+            while (count > 0 && now - births[head] > lifetime) {
+                head = (head + 1) % RING_CAPACITY;
+                count--;
+            }
+        }
+
+        int slot(int i) {
+            return (head + i) % RING_CAPACITY;
+        }
+    }
+
+    // Bullet id -> ribbon still being extended
+    private static final Int2ObjectOpenHashMap<TrailRibbon> live = new Int2ObjectOpenHashMap<>();
+    // Every ribbon with points to draw, live or fading out
+    private static final ArrayList<TrailRibbon> active = new ArrayList<>();
+    private static final ArrayDeque<TrailRibbon> pool = new ArrayDeque<>();
+
+    private static int clock = 0;
+
+    /**
+     * Ribbons age on their own clock, independent of bullet tracking, so trails keep
+     * fading while a screen is open. Switching trails off drops every ribbon.
+     */
+    @SubscribeEvent
+    public static void onClientTick(ClientTickEvent.Post event) {
+        if (!MatrixCraftConfig.TRAILS_ENABLED.get()) {
+            if (!active.isEmpty()) clear();
+            return;
+        }
+        if (Minecraft.getInstance().isPaused()) return;
+        tick();
+    }
+
+    /**
+     * Advance the trail clock and retire faded ribbons. Called once per client tick.
+     */
+    private static void tick() {
+        clock++;
+        for (int i = active.size() - 1; i >= 0; i--) {
+            TrailRibbon ribbon = active.get(i);
+            ribbon.expire(clock);
+            if (ribbon.count == 0 && ribbon.bulletId < 0) {
+                // Swap-remove; order does not matter for additive blending
+                TrailRibbon last = active.remove(active.size() - 1);
+                if (last != ribbon) active.set(i, last);
+                pool.push(ribbon);
+            }
+        }
+    }
+
+    /**
+     * Append a point to a bullet's trail, starting a new ribbon if needed
+     * @param lifetime ticks the trail's points stay visible
+     */
+    public static void addPoint(int bulletId, double x, double y, double z, int lifetime) {
+        TrailRibbon ribbon = live.get(bulletId);
+        if (ribbon == null) {
+            ribbon = pool.isEmpty() ? new TrailRibbon() : pool.pop();
+            ribbon.reset(bulletId, x, y, z);
+            live.put(bulletId, ribbon);
+            active.add(ribbon);
+        }
+        ribbon.lifetime = lifetime;
+        ribbon.add(x, y, z, clock);
+    }
+
+    /**
+     * Stop extending a bullet's trail. Its points stay until they fade out.
+     */
+    public static void endTrail(int bulletId) {
+        TrailRibbon ribbon = live.remove(bulletId);
+        if (ribbon != null) {
+            ribbon.bulletId = -1;
+        }
+    }
+
+    public static boolean hasTrail(int bulletId) {
+        return live.containsKey(bulletId);
+    }
+
+    public static int getActiveRibbonCount() {
+        return active.size();
+    }
+
+    public static void clear() {
+        for (TrailRibbon ribbon : active) {
+            ribbon.bulletId = -1;
+            ribbon.count = 0;
+            pool.push(ribbon);
+        }
+        active.clear();
+        live.clear();
+    }
+
+    @SubscribeEvent
+    public static void onLoggingOut(ClientPlayerNetworkEvent.LoggingOut event) {
+        clear();
+    }
+
+    // ==================== RENDERING ====================
+
+    @SubscribeEvent
+    public static void onRenderLevelStage(RenderLevelStageEvent event) {
+        if (event.getStage() != RenderLevelStageEvent.Stage.AFTER_PARTICLES) return;
+        if (active.isEmpty()) return;
+        if (!MatrixCraftConfig.TRAILS_ENABLED.get()) return;
+
+        Vec3 camera = event.getCamera().getPosition();
+        float partialTick = event.getPartialTick().getGameTimeDeltaPartialTick(false);
+        float now = clock + partialTick;
+        // Share the frame's point budget evenly; ribbons over their share lose their oldest points
+        int pointsPerRibbon = Math.max(2, BulletTrailBudget.getFramePointBudget() / active.size());
+
+        float r = Math.min(1f, MatrixCraftConfig.TRAIL_COLOR_R.get() / 255f * COLOR_BOOST);
+        float g = Math.min(1f, MatrixCraftConfig.TRAIL_COLOR_G.get() / 255f * COLOR_BOOST);
+        float b = Math.min(1f, MatrixCraftConfig.TRAIL_COLOR_B.get() / 255f * COLOR_BOOST);
+        float alpha = MatrixCraftConfig.TRAIL_ALPHA.get().floatValue();
+        // The old particles were quads of half-size width * 3
+        float halfWidth = MatrixCraftConfig.TRAIL_WIDTH.get().floatValue() * 3.0f;
+
+        BufferBuilder buffer = Tesselator.getInstance().begin(VertexFormat.Mode.QUADS, DefaultVertexFormat.POSITION_COLOR);
+        for (int i = 0; i < active.size(); i++) {
+            emitRibbon(buffer, active.get(i), camera, now, pointsPerRibbon, r, g, b, alpha, halfWidth);
+        }
+        MeshData mesh = buffer.build();
+        if (mesh == null) return;
+
+        Matrix4fStack modelView = RenderSystem.getModelViewStack();
+        modelView.pushMatrix();
+        modelView.mul(event.getModelViewMatrix());
+        RenderSystem.applyModelViewMatrix();
+
+        RenderSystem.setShader(GameRenderer::getPositionColorShader);
+        RenderSystem.enableBlend();
+        RenderSystem.blendFunc(GlStateManager.SourceFactor.SRC_ALPHA, GlStateManager.DestFactor.ONE);
+        RenderSystem.enableDepthTest();
+        RenderSystem.depthMask(false);
+        RenderSystem.disableCull();
+
+        BufferUploader.drawWithShader(mesh);
+
+        RenderSystem.enableCull();
+        RenderSystem.depthMask(true);
+        RenderSystem.defaultBlendFunc();
+        RenderSystem.disableBlend();
+
+        modelView.popMatrix();
+        RenderSystem.applyModelViewMatrix();
+    }
+
+    /**
+     * Write one ribbon as camera-facing quads. Positions are camera-relative, so the
+     * view vector of a point is the point itself and the ribbon's side vector is
+     * tangent x view.
+     */
+    private static void emitRibbon(BufferBuilder buffer, TrailRibbon ribbon, Vec3 camera, float now, int maxPoints,
+                                   float r, float g, float b, float alpha, float halfWidth) {
+        if (ribbon.count < 2) return;
+        float lifetime = ribbon.lifetime;
+        int first = Math.max(0, ribbon.count - maxPoints);
+
+        float ox = (float) (ribbon.originX - camera.x);
+        float oy = (float) (ribbon.originY - camera.y);
+        float oz = (float) (ribbon.originZ - camera.z);
+
+        // Previous point's center, side offset and alpha
+        float px = 0, py = 0, pz = 0, psx = 0, psy = 0, psz = 0, pa = 0;
+
+        for (int i = first; i < ribbon.count; i++) {
+            int slot = ribbon.slot(i);
+            int before = ribbon.slot(Math.max(first, i - 1));
+            int after = ribbon.slot(Math.min(ribbon.count - 1, i + 1));
+
+            float cx = ribbon.xs[slot] + ox;
+            float cy = ribbon.ys[slot] + oy;
+            float cz = ribbon.zs[slot] + oz;
+
+            float tx = ribbon.xs[after] - ribbon.xs[before];
+            float ty = ribbon.ys[after] - ribbon.ys[before];
+            float tz = ribbon.zs[after] - ribbon.zs[before];
+
+            // side = tangent x view
+            float sx = ty * cz - tz * cy;
+            float sy = tz * cx - tx * cz;
+            float sz = tx * cy - ty * cx;
+
+            float life = Math.min(1f, Math.max(0f, (now - ribbon.births[slot]) / lifetime));
+            float a = life > FADE_START ? alpha * (1f - (life - FADE_START) / (1f - FADE_START)) : alpha;
+            float width = halfWidth * (1f + life * 2f);
+
+            float length = (float) Math.sqrt(sx * sx + sy * sy + sz * sz);
+            float scale = length > 1.0e-6f ? width / length : 0f;
+            sx *= scale;
+            sy *= scale;
+            sz *= scale;
+
+            if (i > first && (pa > 0f || a > 0f)) {
+                // Edge-to-center quad on each side of the path
+                buffer.addVertex(px - psx, py - psy, pz - psz).setColor(r, g, b, 0f);
+                buffer.addVertex(px, py, pz).setColor(r, g, b, pa);
+                buffer.addVertex(cx, cy, cz).setColor(r, g, b, a);
+                buffer.addVertex(cx - sx, cy - sy, cz - sz).setColor(r, g, b, 0f);
+
+                buffer.addVertex(px, py, pz).setColor(r, g, b, pa);
+                buffer.addVertex(px + psx, py + psy, pz + psz).setColor(r, g, b, 0f);
+                buffer.addVertex(cx + sx, cy + sy, cz + sz).setColor(r, g, b, 0f);
+                buffer.addVertex(cx, cy, cz).setColor(r, g, b, a);
+            }
+
+            px = cx;
+            py = cy;
+            pz = cz;
+            psx = sx;
+            psy = sy;
+            psz = sz;
+            pa = a;
+        }
+    }
+}
@@ -1,28 +1,33 @@
 package com.raeyncraft.matrixcraft.client;
 
 import com.raeyncraft.matrixcraft.MatrixCraftConfig;
-import com.raeyncraft.matrixcraft.MatrixCraftMod;
-import com.raeyncraft.matrixcraft.particle.MatrixParticles;
 import com.raeyncraft.matrixcraft.client.lighting.DynamicLightManager;
+import com.raeyncraft.matrixcraft.log.EventCategory;
+import com.raeyncraft.matrixcraft.log.EventLog;
+import it.unimi.dsi.fastutil.objects.Reference2BooleanOpenHashMap;
 import net.minecraft.client.Minecraft;
-import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.world.entity.Entity;
-import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.phys.Vec3;
 import net.neoforged.api.distmarker.Dist;
 import net.neoforged.bus.api.SubscribeEvent;
-import net.neoforged.fml.LogicalSide;
 import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.client.event.ClientPlayerNetworkEvent;
 import net.neoforged.neoforge.client.event.ClientTickEvent;
-
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
+import net.neoforged.neoforge.event.entity.EntityJoinLevelEvent;
+import net.neoforged.neoforge.event.entity.EntityLeaveLevelEvent;
 
 /**
  * Bullet Trail Tracker - working copy adjusted to use config-driven lighting parameters.
  *
+ * Feeds bullet positions to BulletTrailRenderer, which draws each trail as a ribbon.
+ * Per-bullet state lives in a BulletStateStore, so tracking a bullet allocates nothing per tick.
+ * How much trail each bullet gets - point rate, lights, trail length - comes from
+ * BulletTrailBudget, which scales it by distance to the camera and by frame time.
+ * Bullets BulletTrailCulling reports as off screen only have their position kept up to
+ * date - no trail points, lights or dynamic light registration.
+ *
  * Uses config keys:
  *  - MatrixCraftConfig.TRAIL_LIGHT_SPACING
  *  - MatrixCraftConfig.TRAIL_LIGHT_DURATION_TICKS
@@ -33,13 +38,21 @@ import java.util.Set;
 @EventBusSubscriber(value = Dist.CLIENT)
 public class BulletTrailTracker {
 
-    private static long lastTrailTime = 0;
-    private static final long TRAIL_COOLDOWN_MS = 30;
+    // Bullets currently in the client level, registered on join and dropped on leave
+    private static final BulletStateStore bullets = new BulletStateStore(64);
+    // Slot the next tick's updates start from (see updateBullets)
+    private static int updateCursor = 0;
+    // Entity type -> whether it is a TacZ bullet, decided once per type
+    private static final Reference2BooleanOpenHashMap<EntityType<?>> bulletTypes = new Reference2BooleanOpenHashMap<>();
 
-    private static final Set<Integer> processedBullets = new HashSet<>();
-    private static final Map<Integer, Vec3> bulletLastPos = new HashMap<>();
+    // Streak drawn behind a bullet when its trail starts, at full detail (blocks)
+    private static final double SEED_TRAIL_LENGTH = 80.0;
+    // Most lights placed along the starting streak and along one segment
+    private static final int MAX_SEED_LIGHT_POINTS = 120;
+    private static final int MAX_SEGMENT_LIGHT_POINTS = 20;
 
-    private static int tickCounter = 0;
+    private static final String TACZ_NAMESPACE = "tacz";
+    private static final String TACZ_BULLET_CLASS = "com.tacz.guns.entity.EntityKineticBullet";
 
     @SubscribeEvent
     public static void onClientTick(ClientTickEvent.Post event) {
@@ -49,193 +62,225 @@ public class BulletTrailTracker {
         if (mc.player == null || mc.level == null) return;
         if (mc.screen != null) return;
 
-        tickCounter++;
-
         BulletTrailLighting.tick();
+        BulletTrailBudget.beginTick();
 
-        scanBulletEntities(mc);
+        updateBullets(mc);
+    }
 
-        if (tickCounter % 40 == 0) {
-            cleanupOldEntries(mc);
+    @SubscribeEvent
+    public static void onEntityJoinLevel(EntityJoinLevelEvent event) {
+        if (!event.getLevel().isClientSide()) return;
+        Entity entity = event.getEntity();
+        if (isTaczBullet(entity)) {
+            bullets.add(entity);
         }
     }
 
-    private static void scanBulletEntities(Minecraft mc) {
-        for (Entity entity : mc.level.entitiesForRendering()) {
-            if (!isTaczBullet(entity)) continue;
-
-            int entityId = entity.getId();
-            Vec3 currentPos = entity.position();
-            Vec3 velocity = entity.getDeltaMovement();
-
-            double distSq = mc.player.distanceToSqr(entity);
-            double maxDist = MatrixCraftConfig.MAX_RENDER_DISTANCE.get();
-            if (distSq > maxDist * maxDist) continue;
-
-            if (!processedBullets.contains(entityId)) {
-                processedBullets.add(entityId);
+    @SubscribeEvent
+    public static void onEntityLeaveLevel(EntityLeaveLevelEvent event) {
+        if (!event.getLevel().isClientSide()) return;
+        int id = event.getEntity().getId();
+        if (bullets.remove(id)) {
+            forgetBullet(id);
+        }
+    }
 
-                long now = System.currentTimeMillis();
-                if (now - lastTrailTime > 100 && velocity.lengthSqr() > 1.0) {
-                    spawnTrailFromBullet(currentPos, velocity, (ClientLevel) mc.level);
-                }
+    @SubscribeEvent
+    public static void onLoggingOut(ClientPlayerNetworkEvent.LoggingOut event) {
+        for (int slot = 0; slot < bullets.size(); slot++) {
+            forgetBullet(bullets.idAt(slot));
+        }
+        bullets.clear();
+    }
 
-                bulletLastPos.put(entityId, currentPos);
-
-                // register lights (single or chain depending on config)
-                try {
-                    int brightness = BulletTrailLighting.getConfiguredLightLevel();
-                    float[] color = BulletTrailLighting.getTrailColor();
-
-                    DynamicLightManager.ensureInit();
-
-                    if (MatrixCraftConfig.TRAIL_CHAIN_ENABLED.get()) {
-                        int chainCount = MatrixCraftConfig.TRAIL_CHAIN_COUNT.get();
-                        double chainSpacing = MatrixCraftConfig.TRAIL_CHAIN_SPACING.get();
-                        DynamicLightManager.trackEntityLightChain(entity, chainCount, chainSpacing, brightness, color[0], color[1], color[2]);
-                    } else {
-                        DynamicLightManager.trackEntityLight(entity, brightness, color[0], color[1], color[2]);
-                    }
-                    MatrixCraftMod.LOGGER.info("[BulletTrailTracker] Registered entity-backed dynamic light for entity id=" + entityId);
-                } catch (Throwable ex) {
-                    MatrixCraftMod.LOGGER.info("[BulletTrailTracker] Failed to register entity dynamic light for id=" + entityId + ": " + ex.getMessage());
-                }
+    private static void updateBullets(Minecraft mc) {
+        int slot = 0;
+        while (slot < bullets.size()) {
+            Entity entity = bullets.entityAt(slot);
+            // Left a level without a leave event (e.g. dimension change)
+            if (entity.isRemoved() || entity.level() != mc.level) {
+                int entityId = bullets.idAt(slot);
+                // The last slot moves into this one, so look at the same slot again
+                bullets.removeAt(slot);
+                forgetBullet(entityId);
+                continue;
             }
+            slot++;
+        }
+
+        int count = bullets.size();
+        if (count == 0) return;
 
-            // ping so TTL doesn't remove the light
-            try { DynamicLightManager.pingEntity(entityId); } catch (Throwable ignored) {}
+        double maxDist = MatrixCraftConfig.MAX_RENDER_DISTANCE.get();
+        Vec3 camera = mc.gameRenderer.getMainCamera().getPosition();
 
-            Vec3 lastPos = bulletLastPos.get(entityId);
-            if (lastPos != null && currentPos.distanceToSqr(lastPos) > 0.01) {
-                spawnTrailSegment(lastPos, currentPos, (ClientLevel) mc.level);
+        // Start where the budget ran out last tick, so a tight budget thins every
+        // bullet's trail in turn instead of starving the ones at the end
+        int start = updateCursor % count;
+        int exhaustedAfter = -1;
+        for (int i = 0; i < count; i++) {
+            updateBullet(mc, (start + i) % count, camera, maxDist);
+            if (exhaustedAfter < 0 && !BulletTrailBudget.hasUpdatesLeft()) {
+                exhaustedAfter = i + 1;
             }
-            bulletLastPos.put(entityId, currentPos);
         }
+        updateCursor = exhaustedAfter < 0 ? start : (start + exhaustedAfter) % count;
     }
 
-    private static void spawnTrailFromPlayer(Player player, ClientLevel level) {
-        Vec3 eyePos = player.getEyePosition();
-        Vec3 lookDir = player.getLookAngle();
-        Vec3 muzzle = eyePos.add(lookDir.scale(0.5));
-
-        double trailLength = 100.0;
-        int particleCount = 150;
-
-        boolean addLights = isGlowEnabled();
+    private static void updateBullet(Minecraft mc, int slot, Vec3 camera, double maxDist) {
+        Entity entity = bullets.entityAt(slot);
+        int entityId = bullets.idAt(slot);
 
-        int spacing = MatrixCraftConfig.TRAIL_LIGHT_SPACING.get();
+        double x = entity.getX();
+        double y = entity.getY();
+        double z = entity.getZ();
 
-        for (int i = 0; i < particleCount; i++) {
-            double t = (double) i / particleCount;
-            Vec3 pos = muzzle.add(lookDir.scale(t * trailLength));
+        double dx = x - camera.x;
+        double dy = y - camera.y;
+        double dz = z - camera.z;
+        double distSq = dx * dx + dy * dy + dz * dz;
+        if (distSq > maxDist * maxDist) return;
 
-            double ox = (Math.random() - 0.5) * 0.04;
-            double oy = (Math.random() - 0.5) * 0.04;
-            double oz = (Math.random() - 0.5) * 0.04;
+        float detail = BulletTrailBudget.getDetail(distSq, maxDist);
+        int lifetime = BulletTrailBudget.getLifetimeTicks(detail);
 
-            level.addAlwaysVisibleParticle(
-                    MatrixParticles.BULLET_TRAIL.get(),
-                    true,
-                    pos.x + ox, pos.y + oy, pos.z + oz,
-                    0, 0, 0
-            );
-
-            if (addLights && i % spacing == 0) {
-                BulletTrailLighting.addLightSource(pos.x, pos.y, pos.z);
+        if (!bullets.isProcessed(slot)) {
+            Vec3 velocity = entity.getDeltaMovement();
+            // Off screen or over budget this tick - start the trail on a later one
+            if (!BulletTrailCulling.isSegmentVisible(mc.level, x - velocity.x, y - velocity.y, z - velocity.z, x, y, z)
+                    || !BulletTrailBudget.tryConsumeUpdate()) {
+                return;
             }
-        }
-    }
-
-    private static void spawnTrailFromBullet(Vec3 bulletPos, Vec3 velocity, ClientLevel level) {
-        Vec3 direction = velocity.normalize();
-
-        double trailLength = 80.0;
-        int particleCount = 120;
+            bullets.markProcessed(slot);
 
-        boolean addLights = isGlowEnabled();
+            if (velocity.lengthSqr() > 1.0) {
+                spawnTrailFromBullet(entityId, x, y, z, velocity.x, velocity.y, velocity.z, detail, lifetime);
+            } else {
+                BulletTrailRenderer.addPoint(entityId, x, y, z, lifetime);
+            }
 
-        int spacing = MatrixCraftConfig.TRAIL_LIGHT_SPACING.get();
+            bullets.setLastPos(slot, x, y, z);
 
-        for (int i = 0; i < particleCount; i++) {
-            double t = (double) i / particleCount;
-            Vec3 pos = bulletPos.subtract(direction.scale(t * trailLength));
+            // register lights (single or chain depending on config)
+            try {
+                int brightness = BulletTrailLighting.getConfiguredLightLevel();
+                float[] color = BulletTrailLighting.getTrailColor();
 
-            double ox = (Math.random() - 0.5) * 0.04;
-            double oy = (Math.random() - 0.5) * 0.04;
-            double oz = (Math.random() - 0.5) * 0.04;
+                DynamicLightManager.ensureInit();
 
-            level.addAlwaysVisibleParticle(
-                    MatrixParticles.BULLET_TRAIL.get(),
-                    true,
-                    pos.x + ox, pos.y + oy, pos.z + oz,
-                    0, 0, 0
-            );
+                if (MatrixCraftConfig.TRAIL_CHAIN_ENABLED.get()) {
+                    int chainCount = MatrixCraftConfig.TRAIL_CHAIN_COUNT.get();
+                    double chainSpacing = MatrixCraftConfig.TRAIL_CHAIN_SPACING.get();
+                    DynamicLightManager.trackEntityLightChain(entity, chainCount, chainSpacing, brightness, color[0], color[1], color[2]);
+                } else {
+                    DynamicLightManager.trackEntityLight(entity, brightness, color[0], color[1], color[2]);
+                }
+                if (EventLog.isEnabled(EventCategory.BULLET_TRAIL)) {
+                    EventLog.log(EventCategory.BULLET_TRAIL, "Registered entity-backed dynamic light for entity id={}", entityId);
+                }
+            } catch (Throwable ex) {
+                if (EventLog.isEnabled(EventCategory.BULLET_TRAIL)) {
+                    EventLog.log(EventCategory.BULLET_TRAIL, "Failed to register entity dynamic light for id={}: {}", entityId, ex.getMessage());
+                }
+            }
+        }
 
-            if (addLights && i % spacing == 0) {
-                BulletTrailLighting.addLightSource(pos.x, pos.y, pos.z);
+        // ping so TTL doesn't remove the light
+        try { DynamicLightManager.pingEntity(entityId); } catch (Throwable ignored) {}
+
+        // The last position only moves when a segment is drawn, so ticks skipped for
+        // budget are covered by the next segment instead of leaving a gap
+        if (BulletTrailBudget.isPointTick(entityId, detail)) {
+            double lastX = bullets.lastX(slot);
+            double lastY = bullets.lastY(slot);
+            double lastZ = bullets.lastZ(slot);
+            if (!BulletTrailCulling.isSegmentVisible(mc.level, lastX, lastY, lastZ, x, y, z)) {
+                // Off screen - just keep the position current
+                bullets.setLastPos(slot, x, y, z);
+            } else if (spawnTrailSegment(entityId, lastX, lastY, lastZ, x, y, z, detail, lifetime)) {
+                bullets.setLastPos(slot, x, y, z);
             }
         }
     }
 
-    private static void spawnTrailSegment(Vec3 from, Vec3 to, ClientLevel level) {
-        double distance = from.distanceTo(to);
-        if (distance < 0.1) return;
-
-        int count = Math.max(3, (int)(distance * 3));
-        count = Math.min(count, 20);
-
-        boolean addLights = isGlowEnabled();
-        int spacing = MatrixCraftConfig.TRAIL_LIGHT_SPACING.get();
-
-        for (int i = 0; i < count; i++) {
-            double t = (double) i / count;
-            Vec3 pos = from.lerp(to, t);
-
-            double ox = (Math.random() - 0.5) * 0.03;
-            double oy = (Math.random() - 0.5) * 0.03;
-            double oz = (Math.random() - 0.5) * 0.03;
-
-            level.addAlwaysVisibleParticle(
-                    MatrixParticles.BULLET_TRAIL.get(),
-                    true,
-                    pos.x + ox, pos.y + oy, pos.z + oz,
-                    0, 0, 0
-            );
-
-            if (addLights && i % spacing == 0) {
-                BulletTrailLighting.addLightSource(pos.x, pos.y, pos.z);
+    /**
+     * Start a bullet's ribbon with a streak reaching back along its flight path
+     */
+    private static void spawnTrailFromBullet(int bulletId, double x, double y, double z, double vx, double vy, double vz,
+                                             float detail, int lifetime) {
+        double speed = Math.sqrt(vx * vx + vy * vy + vz * vz);
+        double dx = vx / speed;
+        double dy = vy / speed;
+        double dz = vz / speed;
+
+        double trailLength = SEED_TRAIL_LENGTH * Math.max(0.25f, detail);
+        BulletTrailRenderer.addPoint(bulletId, x - dx * trailLength, y - dy * trailLength, z - dz * trailLength, lifetime);
+        BulletTrailRenderer.addPoint(bulletId, x, y, z, lifetime);
+
+        if (isGlowEnabled()) {
+            int lightPoints = BulletTrailBudget.getLightPoints(trailLength, detail, MAX_SEED_LIGHT_POINTS);
+            int spacing = MatrixCraftConfig.TRAIL_LIGHT_SPACING.get();
+            for (int i = 0; i < lightPoints; i += spacing) {
+                double t = (double) i / lightPoints;
+                BulletTrailLighting.addLightSource(
+                        x - dx * t * trailLength,
+                        y - dy * t * trailLength,
+                        z - dz * t * trailLength);
             }
         }
     }
 
-    private static void cleanupOldEntries(Minecraft mc) {
-        processedBullets.removeIf(id -> {
-            Entity e = mc.level.getEntity(id);
-            boolean removed = (e == null || e.isRemoved());
-            if (removed) {
-                try {
-                    DynamicLightManager.untrackEntityLightById(id);
-                } catch (Throwable ignored) {}
-            }
-            return removed;
-        });
-
-        bulletLastPos.entrySet().removeIf(entry -> {
-            int id = entry.getKey();
-            Entity e = mc.level.getEntity(id);
-            boolean removed = (e == null || e.isRemoved());
-            if (removed) {
-                try {
-                    DynamicLightManager.untrackEntityLightById(id);
-                } catch (Throwable ignored) {}
+    /**
+     * Extend a bullet's ribbon to its new position
+     * @return false if the bullet barely moved or this tick's budget is spent
+     */
+    private static boolean spawnTrailSegment(int bulletId, double fromX, double fromY, double fromZ,
+                                             double toX, double toY, double toZ, float detail, int lifetime) {
+        double dx = toX - fromX;
+        double dy = toY - fromY;
+        double dz = toZ - fromZ;
+        double distSq = dx * dx + dy * dy + dz * dz;
+        if (distSq < 0.01) return false;
+        if (!BulletTrailBudget.tryConsumeUpdate()) return false;
+
+        BulletTrailRenderer.addPoint(bulletId, toX, toY, toZ, lifetime);
+
+        if (isGlowEnabled()) {
+            int lightPoints = BulletTrailBudget.getLightPoints(Math.sqrt(distSq), detail, MAX_SEGMENT_LIGHT_POINTS);
+            int spacing = MatrixCraftConfig.TRAIL_LIGHT_SPACING.get();
+            for (int i = 0; i < lightPoints; i += spacing) {
+                double t = (double) i / lightPoints;
+                BulletTrailLighting.addLightSource(fromX + dx * t, fromY + dy * t, fromZ + dz * t);
             }
-            return removed;
-        });
+        }
+        return true;
     }
 
+    /**
+     * Drop the trail and lights of a bullet that left the level
+     */
+    private static void forgetBullet(int id) {
+        BulletTrailRenderer.endTrail(id);
+        try {
+            DynamicLightManager.untrackEntityLightById(id);
+        } catch (Throwable ignored) {}
+    }
+
+    /**
+     * TacZ bullets are recognised by entity type - anything registered under the tacz
+     * namespace, or any type whose entities are TacZ kinetic bullets (addon guns).
+     * The answer is worked out once per type and then looked up by identity.
+     */
     private static boolean isTaczBullet(Entity entity) {
-        return entity.getClass().getName().equals("com.tacz.guns.entity.EntityKineticBullet")
-                || String.valueOf(entity.getType()).toLowerCase().contains("tacz");
+        EntityType<?> type = entity.getType();
+        if (bulletTypes.containsKey(type)) {
+            return bulletTypes.getBoolean(type);
+        }
+        boolean bullet = TACZ_NAMESPACE.equals(BuiltInRegistries.ENTITY_TYPE.getKey(type).getNamespace())
+                || entity.getClass().getName().equals(TACZ_BULLET_CLASS);
+        bulletTypes.put(type, bullet);
+        return bullet;
     }
 
     private static boolean isGlowEnabled() {
@@ -2,6 +2,8 @@ package com.raeyncraft.matrixcraft.client.lighting;
 
 import com.raeyncraft.matrixcraft.MatrixCraftMod;
 import com.raeyncraft.matrixcraft.client.BulletTrailLighting;
+import com.raeyncraft.matrixcraft.log.EventCategory;
+import com.raeyncraft.matrixcraft.log.EventLog;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.renderer.LevelRenderer;
 import net.minecraft.core.BlockPos;
@@ -176,7 +178,10 @@ public class DynamicLightManager {
                     untrackEntityLightById(id);
                     it.remove();
                     lastSeenMs.remove(id);
-                    MatrixCraftMod.LOGGER.info("[DynamicLightManager] Swept and untracked entity DLS for id=" + id + " (removed=" + (e==null||e.isRemoved()) + " unseenTooLong=" + unseenTooLong + ")");
+                    if (EventLog.isEnabled(EventCategory.DYNAMIC_LIGHT)) {
+                        EventLog.log(EventCategory.DYNAMIC_LIGHT, "Swept and untracked entity DLS for id={} (removed={} unseenTooLong={})",
+                            id, e == null || e.isRemoved(), unseenTooLong);
+                    }
                 }
             }
         } catch (Throwable ignored) {}
@@ -185,7 +190,9 @@ public class DynamicLightManager {
     private static void syncDynamicLights(Level level) {
         Map<BlockPos, BulletTrailLighting.LightSource> sources = BulletTrailLighting.getActiveLights();
 
-        MatrixCraftMod.LOGGER.debug("[DynamicLightManager] Active lights count: " + (sources == null ? 0 : sources.size()));
+        if (EventLog.isEnabled(EventCategory.DYNAMIC_LIGHT)) {
+            EventLog.log(EventCategory.DYNAMIC_LIGHT, "Active lights count: {}", sources == null ? 0 : sources.size());
+        }
 
         Set<BlockPos> toRemove = new HashSet<>();
         for (BlockPos pos : dlsCache.keySet()) {
@@ -320,9 +327,13 @@ public class DynamicLightManager {
                     new Class[]{dynamicLightSourceClass}, handler);
             entityDls.put(id, proxy);
             invokeAddLightSource(proxy);
-            MatrixCraftMod.LOGGER.info("[DynamicLightManager] Created and registered entity-backed DLS for entity id=" + id);
+            if (EventLog.isEnabled(EventCategory.DYNAMIC_LIGHT)) {
+                EventLog.log(EventCategory.DYNAMIC_LIGHT, "Created and registered entity-backed DLS for entity id={}", id);
+            }
         } catch (Throwable t) {
-            MatrixCraftMod.LOGGER.info("[DynamicLightManager] trackEntityLight failed for id=" + id + ": " + t.getMessage());
+            if (EventLog.isEnabled(EventCategory.DYNAMIC_LIGHT)) {
+                EventLog.log(EventCategory.DYNAMIC_LIGHT, "trackEntityLight failed for id={}: {}", id, t.getMessage());
+            }
         }
     }
 
@@ -356,9 +367,13 @@ public class DynamicLightManager {
                 invokeAddLightSource(proxy);
             }
             entityDlsChains.put(id, proxies);
-            MatrixCraftMod.LOGGER.info("[DynamicLightManager] Created and registered entity-backed DLS chain for id=" + id + " count=" + count);
+            if (EventLog.isEnabled(EventCategory.DYNAMIC_LIGHT)) {
+                EventLog.log(EventCategory.DYNAMIC_LIGHT, "Created and registered entity-backed DLS chain for id={} count={}", id, count);
+            }
         } catch (Throwable t) {
-            MatrixCraftMod.LOGGER.info("[DynamicLightManager] trackEntityLightChain failed for id=" + id + ": " + t.getMessage());
+            if (EventLog.isEnabled(EventCategory.DYNAMIC_LIGHT)) {
+                EventLog.log(EventCategory.DYNAMIC_LIGHT, "trackEntityLightChain failed for id={}: {}", id, t.getMessage());
+            }
             for (Object p : proxies) {
                 try { invokeRemoveLightSource(p); } catch (Throwable ignored) {}
             }
@@ -458,7 +473,9 @@ public class DynamicLightManager {
         }
         entityRefs.remove(id);
         lastSeenMs.remove(id);
-        MatrixCraftMod.LOGGER.info("[DynamicLightManager] Untracked entity-backed DLS for entity id=" + id);
+        if (EventLog.isEnabled(EventCategory.DYNAMIC_LIGHT)) {
+            EventLog.log(EventCategory.DYNAMIC_LIGHT, "Untracked entity-backed DLS for entity id={}", id);
+        }
     }
 
     /**
@@ -4,25 +4,52 @@ import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.arguments.BoolArgumentType;
 import com.mojang.brigadier.arguments.DoubleArgumentType;
 import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import com.raeyncraft.matrixcraft.MatrixCraftConfig;
 import com.raeyncraft.matrixcraft.MatrixCraftMod;
 import com.raeyncraft.matrixcraft.command.MatrixSettings;
+import com.raeyncraft.matrixcraft.glass.GlassRepairMetrics;
+import com.raeyncraft.matrixcraft.glass.GlassRepairRegion;
 import com.raeyncraft.matrixcraft.glass.GlassRepairSystem;
+import com.raeyncraft.matrixcraft.item.MobSuppressionSystem;
+import com.raeyncraft.matrixcraft.item.SafeHavenObeliskBlockEntity;
+import com.raeyncraft.matrixcraft.item.SuppressionFilter;
+import com.raeyncraft.matrixcraft.item.SuppressionMetrics;
+import com.raeyncraft.matrixcraft.item.SuppressionShape;
+import com.raeyncraft.matrixcraft.item.SuppressionZone;
 import net.minecraft.ChatFormatting;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.Commands;
+import net.minecraft.commands.arguments.ResourceLocationArgument;
+import net.minecraft.commands.arguments.coordinates.BlockPosArgument;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.registries.Registries;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.tags.TagKey;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.MobCategory;
+import net.minecraft.world.entity.MobSpawnType;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.fml.common.EventBusSubscriber;
 import net.neoforged.neoforge.event.RegisterCommandsEvent;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
 /**
  * MatrixCraft Commands - Reorganized Structure
  * 
  * /matrix bullettime - Bullet time settings (colors, effects)
  * /matrix bullettrails - Bullet trail settings
  * /matrix utilities - Glass repair, cobwebs, etc.
+ * /matrix suppression - Safe Haven mob suppression diagnostics
  */
 @EventBusSubscriber(modid = MatrixCraftMod.MODID)
 public class MatrixCraftCommands {
@@ -38,12 +65,14 @@ public class MatrixCraftCommands {
             .then(buildBulletTimeCommands())
             .then(buildBulletTrailCommands())
             .then(buildUtilitiesCommands())
+            .then(buildSuppressionCommands())
             .executes(context -> {
                 context.getSource().sendSuccess(() -> 
                     Component.literal("§6=== MatrixCraft Commands ===\n" +
                         "§e/matrix bullettime §7- Bullet time / Focus mode settings\n" +
                         "§e/matrix bullettrails §7- Bullet trail effects\n" +
                         "§e/matrix utilities §7- Glass repair, cobwebs, etc.\n" +
+                        "§e/matrix suppression §7- Safe Haven mob suppression diagnostics\n" +
                         "§7\nUse each subcommand for more options."), false);
                 return 1;
             })
@@ -847,11 +876,13 @@ public class MatrixCraftCommands {
                         int delay = GlassRepairSystem.getRepairDelaySeconds();
                         int pending = GlassRepairSystem.getPendingRepairCount(level);
                         int tracked = GlassRepairSystem.getTrackedGlassCount(level);
+                        int regions = GlassRepairSystem.getRegions(level).size();
                         
                         context.getSource().sendSuccess(() -> 
                             Component.literal("§6=== Glass Repair System ===\n" +
                                 "§7Status: " + (enabled ? "§aEnabled" : "§cDisabled") + "\n" +
                                 "§7Repair Delay: §e" + delay + " seconds\n" +
+                                "§7Protected Regions: §e" + (regions == 0 ? "none (whole level)" : regions) + "\n" +
                                 "§7Tracked Glass: §e" + tracked + "\n" +
                                 "§7Pending Repairs: §e" + pending), false);
                         return 1;
@@ -885,6 +916,80 @@ public class MatrixCraftCommands {
                         return 1;
                     })
                 )
+                .then(Commands.literal("stats")
+                    .then(Commands.literal("dump")
+                        .executes(context -> {
+                            Path file = GlassRepairSystem.dumpStats();
+                            context.getSource().sendSuccess(() -> 
+                                Component.literal("§6[Glass Repair] §7Stats written to §e" + file), false);
+                            return 1;
+                        })
+                    )
+                    .then(Commands.literal("reset")
+                        .executes(context -> {
+                            GlassRepairMetrics.reset();
+                            context.getSource().sendSuccess(() -> 
+                                Component.literal("§6[Glass Repair] §7Stats reset"), true);
+                            return 1;
+                        })
+                    )
+                    .executes(context -> {
+                        ServerLevel level = context.getSource().getLevel();
+                        StringBuilder message = new StringBuilder("§6=== Glass Repair Stats ===");
+                        message.append("\n§7Tracked: §e").append(GlassRepairSystem.getTrackedGlassCount(level))
+                            .append(" §7Queue depth: §e").append(GlassRepairSystem.getPendingRepairCount(level));
+                        for (String line : GlassRepairMetrics.describe()) {
+                            message.append("\n").append(line);
+                        }
+                        context.getSource().sendSuccess(() -> Component.literal(message.toString()), false);
+                        return 1;
+                    })
+                )
+                .then(Commands.literal("region")
+                    .then(Commands.literal("add")
+                        .then(Commands.argument("name", StringArgumentType.word())
+                            .then(Commands.argument("from", BlockPosArgument.blockPos())
+                                .then(Commands.argument("to", BlockPosArgument.blockPos())
+                                    .then(Commands.argument("delaySeconds", IntegerArgumentType.integer(1, 3600))
+                                        .executes(context -> addGlassRegion(context, IntegerArgumentType.getInteger(context, "delaySeconds")))
+                                    )
+                                    .executes(context -> addGlassRegion(context, 0))
+                                )
+                            )
+                        )
+                    )
+                    .then(Commands.literal("remove")
+                        .then(Commands.argument("name", StringArgumentType.word())
+                            .executes(context -> {
+                                ServerLevel level = context.getSource().getLevel();
+                                String name = StringArgumentType.getString(context, "name");
+                                if (!GlassRepairSystem.removeRegion(level, name)) {
+                                    context.getSource().sendFailure(Component.literal("§c[Glass Repair] No region named '" + name + "'"));
+                                    return 0;
+                                }
+                                context.getSource().sendSuccess(() -> 
+                                    Component.literal("§6[Glass Repair] §7Removed region §e" + name), true);
+                                return 1;
+                            })
+                        )
+                    )
+                    .then(Commands.literal("list")
+                        .executes(context -> {
+                            ServerLevel level = context.getSource().getLevel();
+                            StringBuilder message = new StringBuilder("§6=== Glass Repair Regions ===");
+                            if (GlassRepairSystem.getRegions(level).isEmpty()) {
+                                message.append("\n§7None defined - all glass in the level is protected");
+                            }
+                            for (GlassRepairRegion region : GlassRepairSystem.getRegions(level)) {
+                                message.append("\n§e").append(region.name).append(" §7")
+                                    .append(region.describeBounds()).append(" §7delay: §e")
+                                    .append(region.delayTicks > 0 ? (region.delayTicks / 20) + "s" : "default");
+                            }
+                            context.getSource().sendSuccess(() -> Component.literal(message.toString()), false);
+                            return 1;
+                        })
+                    )
+                )
                 .executes(context -> {
                     context.getSource().sendSuccess(() -> 
                         Component.literal("§6=== Glass Repair Commands ===\n" +
@@ -894,7 +999,11 @@ public class MatrixCraftCommands {
                             "§e/matrix utilities glassrepair status\n" +
                             "§e/matrix utilities glassrepair clear\n" +
                             "§e/matrix utilities glassrepair now\n" +
-                            "§e/matrix utilities glassrepair rescan"), false);
+                            "§e/matrix utilities glassrepair rescan\n" +
+                            "§e/matrix utilities glassrepair stats [dump|reset]\n" +
+                            "§e/matrix utilities glassrepair region add <name> <from> <to> [delaySeconds]\n" +
+                            "§e/matrix utilities glassrepair region remove <name>\n" +
+                            "§e/matrix utilities glassrepair region list"), false);
                     return 1;
                 })
             )
@@ -910,4 +1019,221 @@ public class MatrixCraftCommands {
                 return 1;
             });
     }
+    
+    // ==================== SUPPRESSION COMMANDS ====================
+    
+    private static com.mojang.brigadier.builder.LiteralArgumentBuilder<CommandSourceStack> buildSuppressionCommands() {
+        return Commands.literal("suppression")
+            
+            .then(Commands.literal("stats")
+                .then(Commands.literal("reset")
+                    .executes(context -> {
+                        SuppressionMetrics.reset();
+                        context.getSource().sendSuccess(() -> 
+                            Component.literal("§6[Suppression] §7Stats reset"), true);
+                        return 1;
+                    })
+                )
+                .executes(context -> {
+                    ServerLevel level = context.getSource().getLevel();
+                    StringBuilder message = new StringBuilder("§6=== Suppression Stats (" + level.dimension().location() + ") ===");
+                    for (String line : SuppressionMetrics.describe(level)) {
+                        message.append("\n").append(line);
+                    }
+                    List<SuppressionZone> top = SuppressionMetrics.sortByBlocked(level, MobSuppressionSystem.getZones(level));
+                    for (int i = 0; i < Math.min(5, top.size()); i++) {
+                        SuppressionZone zone = top.get(i);
+                        SuppressionMetrics.ZoneStats stats = SuppressionMetrics.getZoneStats(level, zone.pos);
+                        if (stats.getSpawnsBlocked() == 0 && stats.getEntitiesDiscarded() == 0) break;
+                        message.append("\n§7#").append(i + 1).append(" §e").append(zone.pos.toShortString())
+                            .append(" §7blocked: §e").append(stats.getSpawnsBlocked())
+                            .append(" §7discarded: §e").append(stats.getEntitiesDiscarded());
+                    }
+                    context.getSource().sendSuccess(() -> Component.literal(message.toString()), false);
+                    return 1;
+                })
+            )
+            
+            .then(Commands.literal("list")
+                .executes(context -> {
+                    ServerLevel level = context.getSource().getLevel();
+                    return listSuppressionZones(context,
+                        SuppressionMetrics.sortByBlocked(level, MobSuppressionSystem.getZones(level)), "Suppression Zones");
+                })
+            )
+            
+            .then(Commands.literal("near")
+                .then(Commands.argument("radius", IntegerArgumentType.integer(1, 4096))
+                    .executes(context -> listNearbySuppressionZones(context, IntegerArgumentType.getInteger(context, "radius")))
+                )
+                .executes(context -> listNearbySuppressionZones(context, 128))
+            )
+            
+            .then(Commands.literal("set")
+                .then(Commands.argument("pos", BlockPosArgument.blockPos())
+                    .then(buildObeliskShapeCommand())
+                    .then(Commands.literal("radius")
+                        .then(Commands.argument("blocks", IntegerArgumentType.integer(1, 256))
+                            .executes(context -> editObelisk(context,
+                                obelisk -> obelisk.setRadius(IntegerArgumentType.getInteger(context, "blocks"))))
+                        )
+                    )
+                    .then(Commands.literal("height")
+                        .then(Commands.argument("blocks", IntegerArgumentType.integer(0, 384))
+                            .executes(context -> editObelisk(context,
+                                obelisk -> obelisk.setHeight(IntegerArgumentType.getInteger(context, "blocks"))))
+                        )
+                    )
+                    .then(Commands.literal("flyingheight")
+                        .then(Commands.argument("blocks", IntegerArgumentType.integer(0, 384))
+                            .executes(context -> editObelisk(context,
+                                obelisk -> obelisk.setFlyingHeight(IntegerArgumentType.getInteger(context, "blocks"))))
+                        )
+                    )
+                    .then(Commands.literal("categories")
+                        .then(Commands.argument("names", StringArgumentType.greedyString())
+                            .executes(context -> {
+                                int mask = SuppressionFilter.parseCategories(StringArgumentType.getString(context, "names"));
+                                if (mask < 0) {
+                                    context.getSource().sendFailure(Component.literal(
+                                        "§c[Suppression] Unknown category - use 'any' or names from: " + describeNames(MobCategory.values())));
+                                    return 0;
+                                }
+                                return editObelisk(context, obelisk -> obelisk.setFilter(obelisk.getFilter().withCategories(mask)));
+                            })
+                        )
+                    )
+                    .then(Commands.literal("reasons")
+                        .then(Commands.argument("names", StringArgumentType.greedyString())
+                            .executes(context -> {
+                                int mask = SuppressionFilter.parseReasons(StringArgumentType.getString(context, "names"));
+                                if (mask < 0) {
+                                    context.getSource().sendFailure(Component.literal(
+                                        "§c[Suppression] Unknown spawn reason - use 'any' or names from: " + describeNames(MobSpawnType.values())));
+                                    return 0;
+                                }
+                                return editObelisk(context, obelisk -> obelisk.setFilter(obelisk.getFilter().withReasons(mask)));
+                            })
+                        )
+                    )
+                    .then(Commands.literal("tag")
+                        .then(Commands.literal("clear")
+                            .executes(context -> editObelisk(context, obelisk -> obelisk.setFilter(obelisk.getFilter().withTag(null))))
+                        )
+                        .then(Commands.argument("id", ResourceLocationArgument.id())
+                            .executes(context -> {
+                                TagKey<EntityType<?>> tag = TagKey.create(Registries.ENTITY_TYPE,
+                                    ResourceLocationArgument.getId(context, "id"));
+                                return editObelisk(context, obelisk -> obelisk.setFilter(obelisk.getFilter().withTag(tag)));
+                            })
+                        )
+                    )
+                    .executes(context -> editObelisk(context, null))
+                )
+            )
+            
+            .executes(context -> {
+                context.getSource().sendSuccess(() -> 
+                    Component.literal("§6=== Suppression Commands ===\n" +
+                        "§e/matrix suppression stats [reset] §7- Lookup cost and blocked spawns\n" +
+                        "§e/matrix suppression list §7- Zones in this level, busiest first\n" +
+                        "§e/matrix suppression near [radius] §7- Zones around you\n" +
+                        "§e/matrix suppression set <pos> [shape|radius|height|flyingheight|categories|reasons|tag] §7- Show or change an obelisk's zone"), false);
+                return 1;
+            });
+    }
+    
+    private static com.mojang.brigadier.builder.LiteralArgumentBuilder<CommandSourceStack> buildObeliskShapeCommand() {
+        com.mojang.brigadier.builder.LiteralArgumentBuilder<CommandSourceStack> command = Commands.literal("shape");
+        for (SuppressionShape shape : SuppressionShape.values()) {
+            command.then(Commands.literal(shape.getSerializedName())
+                .executes(context -> editObelisk(context, obelisk -> obelisk.setShape(shape))));
+        }
+        return command;
+    }
+    
+    /**
+     * Apply an edit to the obelisk at the "pos" argument and report its zone.
+     * @param edit the change to make, or null to only show the current settings
+     */
+    private static int editObelisk(CommandContext<CommandSourceStack> context,
+                                   Consumer<SafeHavenObeliskBlockEntity> edit) throws CommandSyntaxException {
+        ServerLevel level = context.getSource().getLevel();
+        BlockPos pos = BlockPosArgument.getLoadedBlockPos(context, "pos");
+        if (!(level.getBlockEntity(pos) instanceof SafeHavenObeliskBlockEntity obelisk)) {
+            context.getSource().sendFailure(Component.literal("§c[Suppression] No Safe Haven obelisk at " + pos.toShortString()));
+            return 0;
+        }
+        
+        if (edit != null) {
+            edit.accept(obelisk);
+        }
+        String description = obelisk.createZone().describe();
+        int flyingHeight = obelisk.getFlyingHeight();
+        context.getSource().sendSuccess(() -> 
+            Component.literal("§6[Suppression] §e" + pos.toShortString() + " §7" + description
+                + " §7flying height: §e" + flyingHeight), edit != null);
+        return 1;
+    }
+    
+    private static String describeNames(Enum<?>[] values) {
+        StringBuilder names = new StringBuilder();
+        for (Enum<?> value : values) {
+            if (names.length() > 0) names.append(", ");
+            names.append(value.name().toLowerCase(Locale.ROOT));
+        }
+        return names.toString();
+    }
+    
+    private static int listNearbySuppressionZones(CommandContext<CommandSourceStack> context, int radius) {
+        ServerLevel level = context.getSource().getLevel();
+        BlockPos origin = BlockPos.containing(context.getSource().getPosition());
+        long radiusSq = (long) radius * radius;
+        
+        List<SuppressionZone> nearby = new ArrayList<>();
+        for (SuppressionZone zone : MobSuppressionSystem.getZones(level)) {
+            if (zone.pos.distSqr(origin) <= radiusSq) nearby.add(zone);
+        }
+        nearby.sort(Comparator.comparingDouble(zone -> zone.pos.distSqr(origin)));
+        
+        String inside = MobSuppressionSystem.isInSuppressionZone(level, origin) ? "§ainside a zone" : "§7not inside a zone";
+        return listSuppressionZones(context, nearby, "Zones within " + radius + " blocks (" + inside + "§6)");
+    }
+    
+    private static int listSuppressionZones(CommandContext<CommandSourceStack> context, List<SuppressionZone> zones, String title) {
+        ServerLevel level = context.getSource().getLevel();
+        StringBuilder message = new StringBuilder("§6=== " + title + " ===");
+        if (zones.isEmpty()) {
+            message.append("\n§7None");
+        }
+        int shown = Math.min(20, zones.size());
+        for (int i = 0; i < shown; i++) {
+            SuppressionZone zone = zones.get(i);
+            SuppressionMetrics.ZoneStats stats = SuppressionMetrics.getZoneStats(level, zone.pos);
+            message.append("\n§e").append(zone.pos.toShortString()).append(" §7").append(zone.describe())
+                .append(" §7blocked: §e").append(stats.getSpawnsBlocked())
+                .append(" §7discarded: §e").append(stats.getEntitiesDiscarded());
+        }
+        if (zones.size() > shown) {
+            message.append("\n§7... and ").append(zones.size() - shown).append(" more");
+        }
+        context.getSource().sendSuccess(() -> Component.literal(message.toString()), false);
+        return zones.size();
+    }
+    
+    private static int addGlassRegion(CommandContext<CommandSourceStack> context, int delaySeconds) {
+        ServerLevel level = context.getSource().getLevel();
+        String name = StringArgumentType.getString(context, "name");
+        BlockPos from = BlockPosArgument.getBlockPos(context, "from");
+        BlockPos to = BlockPosArgument.getBlockPos(context, "to");
+        
+        if (!GlassRepairSystem.addRegion(level, name, from, to, delaySeconds)) {
+            context.getSource().sendFailure(Component.literal("§c[Glass Repair] A region named '" + name + "' already exists"));
+            return 0;
+        }
+        context.getSource().sendSuccess(() -> 
+            Component.literal("§6[Glass Repair] §7Added region §e" + name + " §7(" +
+                (delaySeconds > 0 ? delaySeconds + "s delay" : "default delay") + ")"), true);
+        return 1;
+    }
 }
@@ -0,0 +1,172 @@
+package com.raeyncraft.matrixcraft.glass;
+
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.NbtUtils;
+import net.minecraft.nbt.Tag;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+
+import java.util.Arrays;
+
+/**
+ * Glass repair state for a single chunk, in the compact form stored in GlassRepairSavedData.
+ *
+ * Positions are packed chunk-local into one int each, states are written once into a
+ * per-chunk palette and referenced by index (one byte per entry for up to 256 states),
+ * and pending repair timers are sorted and delta-encoded.
+ */
+class GlassChunkRecord {
+
+    final LongArrayList glassPositions = new LongArrayList();
+    final IntArrayList glassStates = new IntArrayList();
+    final LongArrayList pendingPositions = new LongArrayList();
+    final IntArrayList pendingStates = new IntArrayList();
+    final IntArrayList pendingTimers = new IntArrayList();
+
+    void addGlass(long pos, int stateId) {
+        glassPositions.add(pos);
+        glassStates.add(stateId);
+    }
+
+    void addPending(long pos, int stateId, int ticksRemaining) {
+        pendingPositions.add(pos);
+        pendingStates.add(stateId);
+        pendingTimers.add(ticksRemaining);
+    }
+
+    boolean isEmpty() {
+        return glassPositions.isEmpty() && pendingPositions.isEmpty();
+    }
+
+    // ==================== ENCODING ====================
+
+    CompoundTag encode() {
+        CompoundTag tag = new CompoundTag();
+
+        // Shared state palette
+        Int2IntOpenHashMap paletteIndex = new Int2IntOpenHashMap();
+        ListTag palette = new ListTag();
+        IntArrayList glassIdx = toPaletteIndices(glassStates, paletteIndex, palette);
+
+        // Pending repairs sorted by remaining time so timers delta-encode to small values
+        int pendingCount = pendingPositions.size();
+        long[] order = new long[pendingCount];
+        for (int i = 0; i < pendingCount; i++) {
+            order[i] = ((long) pendingTimers.getInt(i) << 32) | i;
+        }
+        Arrays.sort(order);
+
+        int[] pendingPacked = new int[pendingCount];
+        IntArrayList sortedStates = new IntArrayList(pendingCount);
+        int[] timerDeltas = new int[pendingCount];
+        int previousTimer = 0;
+        for (int i = 0; i < pendingCount; i++) {
+            int source = (int) order[i];
+            int timer = pendingTimers.getInt(source);
+            pendingPacked[i] = packLocal(pendingPositions.getLong(source));
+            sortedStates.add(pendingStates.getInt(source));
+            timerDeltas[i] = timer - previousTimer;
+            previousTimer = timer;
+        }
+        IntArrayList pendingIdx = toPaletteIndices(sortedStates, paletteIndex, palette);
+
+        int[] glassPacked = new int[glassPositions.size()];
+        for (int i = 0; i < glassPacked.length; i++) {
+            glassPacked[i] = packLocal(glassPositions.getLong(i));
+        }
+
+        tag.put("palette", palette);
+        tag.putIntArray("glass", glassPacked);
+        writeIndices(tag, "glassStates", glassIdx, palette.size());
+        tag.putIntArray("pending", pendingPacked);
+        writeIndices(tag, "pendingStates", pendingIdx, palette.size());
+        tag.putIntArray("pendingTimers", timerDeltas);
+        return tag;
+    }
+
+    static GlassChunkRecord decode(ChunkPos chunkPos, CompoundTag tag) {
+        GlassChunkRecord record = new GlassChunkRecord();
+
+        ListTag paletteTag = tag.getList("palette", Tag.TAG_COMPOUND);
+        int[] palette = new int[paletteTag.size()];
+        for (int i = 0; i < palette.length; i++) {
+            BlockState state = NbtUtils.readBlockState(BuiltInRegistries.BLOCK.asLookup(), paletteTag.getCompound(i));
+            palette[i] = Block.getId(state);
+        }
+
+        int[] glass = tag.getIntArray("glass");
+        int[] glassIdx = readIndices(tag, "glassStates", glass.length);
+        for (int i = 0; i < glass.length; i++) {
+            record.addGlass(unpackLocal(chunkPos, glass[i]), palette[glassIdx[i]]);
+        }
+
+        int[] pending = tag.getIntArray("pending");
+        int[] pendingIdx = readIndices(tag, "pendingStates", pending.length);
+        int[] timerDeltas = tag.getIntArray("pendingTimers");
+        int timer = 0;
+        for (int i = 0; i < pending.length; i++) {
+            timer += timerDeltas[i];
+            record.addPending(unpackLocal(chunkPos, pending[i]), palette[pendingIdx[i]], timer);
+        }
+        return record;
+    }
+
+    private static IntArrayList toPaletteIndices(IntArrayList stateIds, Int2IntOpenHashMap paletteIndex, ListTag palette) {
+        IntArrayList indices = new IntArrayList(stateIds.size());
+        for (int i = 0; i < stateIds.size(); i++) {
+            int stateId = stateIds.getInt(i);
+            int idx = paletteIndex.getOrDefault(stateId, -1);
+            if (idx < 0) {
+                idx = palette.size();
+                paletteIndex.put(stateId, idx);
+                palette.add(NbtUtils.writeBlockState(Block.stateById(stateId)));
+            }
+            indices.add(idx);
+        }
+        return indices;
+    }
+
+    private static void writeIndices(CompoundTag tag, String key, IntArrayList indices, int paletteSize) {
+        if (paletteSize <= 256) {
+            byte[] bytes = new byte[indices.size()];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = (byte) indices.getInt(i);
+            }
+            tag.putByteArray(key, bytes);
+        } else {
+            tag.putIntArray(key, indices.toIntArray());
+        }
+    }
+
+    private static int[] readIndices(CompoundTag tag, String key, int expected) {
+        if (tag.getTagType(key) == Tag.TAG_BYTE_ARRAY) {
+            byte[] bytes = tag.getByteArray(key);
+            int[] indices = new int[expected];
+            for (int i = 0; i < expected && i < bytes.length; i++) {
+                indices[i] = bytes[i] & 0xFF;
+            }
+            return indices;
+        }
+        int[] indices = tag.getIntArray(key);
+        return indices.length >= expected ? indices : Arrays.copyOf(indices, expected);
+    }
+
+    // Chunk-local packing: y in the high bits (sign preserved), then z and x nibbles
+    private static int packLocal(long pos) {
+        return (BlockPos.getY(pos) << 8) | ((BlockPos.getZ(pos) & 15) << 4) | (BlockPos.getX(pos) & 15);
+    }
+
+    private static long unpackLocal(ChunkPos chunkPos, int packed) {
+        return BlockPos.asLong(
+            chunkPos.getMinBlockX() + (packed & 15),
+            packed >> 8,
+            chunkPos.getMinBlockZ() + ((packed >> 4) & 15));
+    }
+}
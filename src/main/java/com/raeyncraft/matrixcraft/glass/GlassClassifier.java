@@ -0,0 +1,57 @@
+package com.raeyncraft.matrixcraft.glass;
+
+import com.raeyncraft.matrixcraft.MatrixCraftMod;
+import net.minecraft.core.Holder;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.tags.TagKey;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.TagsUpdatedEvent;
+
+import java.util.BitSet;
+
+/**
+ * Decides which blocks the glass repair system protects.
+ *
+ * The #matrixcraft:repairable block tag (seeded from #c:glass_blocks and #c:glass_panes,
+ * so modded glass is picked up too) is resolved whenever tags reload into a BitSet indexed
+ * by block-state id. Classifying a state is then a single bit lookup. The set is swapped
+ * in whole, so worker threads can read it safely.
+ */
+@EventBusSubscriber(modid = MatrixCraftMod.MODID)
+public class GlassClassifier {
+    
+    public static final TagKey<Block> REPAIRABLE = TagKey.create(Registries.BLOCK,
+        ResourceLocation.fromNamespaceAndPath(MatrixCraftMod.MODID, "repairable"));
+    
+    private static volatile BitSet repairableStates = new BitSet();
+    
+    public static boolean isRepairable(BlockState state) {
+        return repairableStates.get(Block.getId(state));
+    }
+    
+    @SubscribeEvent
+    public static void onTagsUpdated(TagsUpdatedEvent event) {
+        BitSet states = new BitSet(Block.BLOCK_STATE_REGISTRY.size());
+        int blocks = 0;
+        for (Holder<Block> holder : BuiltInRegistries.BLOCK.getTagOrEmpty(REPAIRABLE)) {
+            for (BlockState state : holder.value().getStateDefinition().getPossibleStates()) {
+                states.set(Block.getId(state));
+            }
+            blocks++;
+        }
+        
+        boolean changed = !states.equals(repairableStates);
+        repairableStates = states;
+        MatrixCraftMod.LOGGER.info("[GlassRepair] Repairable tag resolved to " + blocks + " blocks (" + states.cardinality() + " states)");
+        
+        // Anything indexed under the old set is stale after a /reload
+        if (changed && event.getUpdateCause() == TagsUpdatedEvent.UpdateCause.SERVER_DATA_LOAD) {
+            GlassRepairSystem.rescanAll();
+        }
+    }
+}
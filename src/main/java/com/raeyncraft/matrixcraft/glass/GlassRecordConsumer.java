@@ -0,0 +1,9 @@
+package com.raeyncraft.matrixcraft.glass;
+
+/**
+ * Visitor for packed glass entries: position (BlockPos.asLong), block state id and ticks until repair
+ */
+@FunctionalInterface
+public interface GlassRecordConsumer {
+    void accept(long pos, int stateId, int ticksRemaining);
+}
@@ -0,0 +1,84 @@
+package com.raeyncraft.matrixcraft.glass;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The protected regions of one level.
+ *
+ * With no regions defined the whole level is tracked; once any region exists,
+ * only chunk sections intersecting a region are indexed and only glass inside
+ * a region is repaired.
+ */
+public class GlassRegionSet {
+    
+    private final List<GlassRepairRegion> regions = new ArrayList<>();
+    
+    public boolean isEmpty() {
+        return regions.isEmpty();
+    }
+    
+    public List<GlassRepairRegion> getRegions() {
+        return Collections.unmodifiableList(regions);
+    }
+    
+    public GlassRepairRegion get(String name) {
+        for (GlassRepairRegion region : regions) {
+            if (region.name.equalsIgnoreCase(name)) return region;
+        }
+        return null;
+    }
+    
+    public boolean add(GlassRepairRegion region) {
+        if (get(region.name) != null) return false;
+        regions.add(region);
+        return true;
+    }
+    
+    public boolean remove(String name) {
+        return regions.removeIf(region -> region.name.equalsIgnoreCase(name));
+    }
+    
+    /**
+     * @return the region containing this position, or null
+     */
+    public GlassRepairRegion find(int x, int y, int z) {
+        for (int i = 0; i < regions.size(); i++) {
+            GlassRepairRegion region = regions.get(i);
+            if (region.contains(x, y, z)) return region;
+        }
+        return null;
+    }
+    
+    /**
+     * True if glass at this position should be tracked
+     */
+    public boolean covers(int x, int y, int z) {
+        return regions.isEmpty() || find(x, y, z) != null;
+    }
+    
+    public boolean coversChunk(int chunkX, int chunkZ) {
+        if (regions.isEmpty()) return true;
+        for (int i = 0; i < regions.size(); i++) {
+            if (regions.get(i).intersectsChunk(chunkX, chunkZ)) return true;
+        }
+        return false;
+    }
+    
+    public boolean coversSection(int sectionX, int sectionY, int sectionZ) {
+        if (regions.isEmpty()) return true;
+        for (int i = 0; i < regions.size(); i++) {
+            if (regions.get(i).intersectsSection(sectionX, sectionY, sectionZ)) return true;
+        }
+        return false;
+    }
+    
+    /**
+     * Repair delay for a position: the region's own delay, or the given default
+     */
+    public int delayAt(int x, int y, int z, int defaultDelayTicks) {
+        GlassRepairRegion region = find(x, y, z);
+        return region != null && region.delayTicks > 0 ? region.delayTicks : defaultDelayTicks;
+    }
+}
@@ -0,0 +1,143 @@
+package com.raeyncraft.matrixcraft.glass;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.raeyncraft.matrixcraft.MatrixCraftMod;
+import com.raeyncraft.matrixcraft.metrics.LatencyHistogram;
+import net.minecraft.Util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Counters and phase-time histograms for the glass repair system.
+ * Everything here is recorded on the server thread.
+ */
+public class GlassRepairMetrics {
+    
+    // Phase times in nanoseconds
+    static final LatencyHistogram SCAN_NANOS = new LatencyHistogram();
+    static final LatencyHistogram DETECTION_NANOS = new LatencyHistogram();
+    static final LatencyHistogram REPAIR_NANOS = new LatencyHistogram();
+    static final LatencyHistogram AUDIT_NANOS = new LatencyHistogram();
+    // Blocks examined per chunk scan
+    static final LatencyHistogram BLOCKS_PER_SCAN = new LatencyHistogram();
+    
+    private static long chunksScanned = 0;
+    private static long blocksExamined = 0;
+    private static long destructionsDetected = 0;
+    private static long auditCorrections = 0;
+    private static long blocksRestored = 0;
+    private static long restoreDeferrals = 0;
+    
+    // Blocks restored in each of the last 20 ticks
+    private static final int[] restoredPerTick = new int[20];
+    private static int tickSlot = 0;
+    
+    static void recordScan(long nanos, int examined) {
+        SCAN_NANOS.record(nanos);
+        BLOCKS_PER_SCAN.record(examined);
+        chunksScanned++;
+        blocksExamined += examined;
+    }
+    
+    static void recordDetection(long nanos, boolean destroyed) {
+        DETECTION_NANOS.record(nanos);
+        if (destroyed) destructionsDetected++;
+    }
+    
+    static void recordAudit(long nanos, int corrections) {
+        AUDIT_NANOS.record(nanos);
+        auditCorrections += corrections;
+    }
+    
+    /**
+     * Called once per server tick with the restoration work done that tick
+     */
+    static void recordRepairTick(long nanos, int restored, boolean deferred) {
+        restoredPerTick[tickSlot] = restored;
+        tickSlot = (tickSlot + 1) % restoredPerTick.length;
+        
+        if (restored == 0 && !deferred) return;
+        REPAIR_NANOS.record(nanos);
+        blocksRestored += restored;
+        if (deferred) restoreDeferrals++;
+    }
+    
+    /**
+     * Blocks restored over the last second (20 ticks)
+     */
+    public static int getRepairsPerSecond() {
+        int total = 0;
+        for (int count : restoredPerTick) {
+            total += count;
+        }
+        return total;
+    }
+    
+    public static String[] describe() {
+        return new String[] {
+            "§7Scan: §e" + SCAN_NANOS.summary(1000, "us"),
+            "§7Blocks/scan: §e" + BLOCKS_PER_SCAN.summary(1, "blocks"),
+            "§7Detection: §e" + DETECTION_NANOS.summary(1000, "us"),
+            "§7Repair tick: §e" + REPAIR_NANOS.summary(1000, "us"),
+            "§7Audit tick: §e" + AUDIT_NANOS.summary(1000, "us"),
+            "§7Chunks scanned: §e" + chunksScanned + " §7(" + blocksExamined + " blocks)",
+            "§7Destroyed: §e" + destructionsDetected + " §7Restored: §e" + blocksRestored +
+                " §7Deferred ticks: §e" + restoreDeferrals + " §7Audit fixes: §e" + auditCorrections,
+            "§7Repairs/sec: §e" + getRepairsPerSecond()
+        };
+    }
+    
+    public static JsonObject toJson() {
+        JsonObject json = new JsonObject();
+        JsonObject histograms = new JsonObject();
+        histograms.add("scanNanos", SCAN_NANOS.toJson());
+        histograms.add("blocksPerScan", BLOCKS_PER_SCAN.toJson());
+        histograms.add("detectionNanos", DETECTION_NANOS.toJson());
+        histograms.add("repairNanos", REPAIR_NANOS.toJson());
+        histograms.add("auditNanos", AUDIT_NANOS.toJson());
+        json.add("histograms", histograms);
+        
+        JsonObject counters = new JsonObject();
+        counters.addProperty("chunksScanned", chunksScanned);
+        counters.addProperty("blocksExamined", blocksExamined);
+        counters.addProperty("destructionsDetected", destructionsDetected);
+        counters.addProperty("auditCorrections", auditCorrections);
+        counters.addProperty("blocksRestored", blocksRestored);
+        counters.addProperty("restoreDeferrals", restoreDeferrals);
+        counters.addProperty("repairsPerSecond", getRepairsPerSecond());
+        json.add("counters", counters);
+        return json;
+    }
+    
+    public static void reset() {
+        SCAN_NANOS.reset();
+        DETECTION_NANOS.reset();
+        REPAIR_NANOS.reset();
+        AUDIT_NANOS.reset();
+        BLOCKS_PER_SCAN.reset();
+        chunksScanned = 0;
+        blocksExamined = 0;
+        destructionsDetected = 0;
+        auditCorrections = 0;
+        blocksRestored = 0;
+        restoreDeferrals = 0;
+    }
+    
+    /**
+     * Serialize on the calling thread, write the file on the IO pool
+     */
+    public static void writeJson(JsonObject json, Path file) {
+        String text = new GsonBuilder().setPrettyPrinting().create().toJson(json);
+        Util.ioPool().execute(() -> {
+            try {
+                Files.createDirectories(file.getParent());
+                Files.writeString(file, text);
+            } catch (IOException e) {
+                MatrixCraftMod.LOGGER.error("[GlassRepair] Failed to write stats to " + file, e);
+            }
+        });
+    }
+}
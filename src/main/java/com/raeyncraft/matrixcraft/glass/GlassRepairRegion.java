@@ -0,0 +1,71 @@
+package com.raeyncraft.matrixcraft.glass;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.nbt.CompoundTag;
+
+/**
+ * An admin-defined box in which glass is protected, with its own repair delay.
+ */
+public class GlassRepairRegion {
+    
+    public final String name;
+    public final int minX, minY, minZ;
+    public final int maxX, maxY, maxZ;
+    // Repair delay in ticks, 0 = use the global delay
+    public final int delayTicks;
+    
+    public GlassRepairRegion(String name, BlockPos from, BlockPos to, int delayTicks) {
+        this(name,
+            Math.min(from.getX(), to.getX()), Math.min(from.getY(), to.getY()), Math.min(from.getZ(), to.getZ()),
+            Math.max(from.getX(), to.getX()), Math.max(from.getY(), to.getY()), Math.max(from.getZ(), to.getZ()),
+            delayTicks);
+    }
+    
+    private GlassRepairRegion(String name, int minX, int minY, int minZ, int maxX, int maxY, int maxZ, int delayTicks) {
+        this.name = name;
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        this.maxZ = maxZ;
+        this.delayTicks = delayTicks;
+    }
+    
+    public boolean contains(int x, int y, int z) {
+        return x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ;
+    }
+    
+    public boolean intersectsChunk(int chunkX, int chunkZ) {
+        int x0 = chunkX << 4;
+        int z0 = chunkZ << 4;
+        return x0 <= maxX && x0 + 15 >= minX && z0 <= maxZ && z0 + 15 >= minZ;
+    }
+    
+    public boolean intersectsSection(int sectionX, int sectionY, int sectionZ) {
+        int y0 = sectionY << 4;
+        return intersectsChunk(sectionX, sectionZ) && y0 <= maxY && y0 + 15 >= minY;
+    }
+    
+    public long getVolume() {
+        return (long) (maxX - minX + 1) * (maxY - minY + 1) * (maxZ - minZ + 1);
+    }
+    
+    public String describeBounds() {
+        return "[" + minX + ", " + minY + ", " + minZ + "] -> [" + maxX + ", " + maxY + ", " + maxZ + "]";
+    }
+    
+    CompoundTag save() {
+        CompoundTag tag = new CompoundTag();
+        tag.putString("name", name);
+        tag.putIntArray("box", new int[] { minX, minY, minZ, maxX, maxY, maxZ });
+        tag.putInt("delay", delayTicks);
+        return tag;
+    }
+    
+    static GlassRepairRegion load(CompoundTag tag) {
+        int[] box = tag.getIntArray("box");
+        if (box.length != 6) return null;
+        return new GlassRepairRegion(tag.getString("name"), box[0], box[1], box[2], box[3], box[4], box[5], tag.getInt("delay"));
+    }
+}
@@ -0,0 +1,134 @@
+package com.raeyncraft.matrixcraft.glass;
+
+import com.raeyncraft.matrixcraft.MatrixCraftMod;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.HolderLookup;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.saveddata.SavedData;
+
+import java.util.function.Consumer;
+
+/**
+ * Per-dimension persistence for the glass index and pending repair queue.
+ *
+ * Chunks are kept as encoded GlassChunkRecord tags while they are unloaded and only
+ * decoded when the chunk loads again, so startup cost doesn't depend on how much glass
+ * the dimension holds. Loaded chunks are encoded from the live tracker at save time.
+ * The dimension's protected regions are stored alongside.
+ */
+public class GlassRepairSavedData extends SavedData {
+
+    public static final String DATA_NAME = MatrixCraftMod.MODID + "_glass_repair";
+
+    // Chunk key -> encoded record for chunks that are not currently loaded
+    private final Long2ObjectOpenHashMap<CompoundTag> dormantChunks = new Long2ObjectOpenHashMap<>();
+
+    // Admin-defined protected volumes for this dimension
+    private final GlassRegionSet regions = new GlassRegionSet();
+
+    // Fills in records for chunks that are currently loaded
+    private Consumer<Long2ObjectMap<GlassChunkRecord>> liveSource = null;
+
+    public static GlassRepairSavedData get(ServerLevel level) {
+        return level.getDataStorage().computeIfAbsent(
+            new SavedData.Factory<>(GlassRepairSavedData::new, GlassRepairSavedData::load, null),
+            DATA_NAME);
+    }
+
+    public GlassRepairSavedData() {
+    }
+
+    void setLiveSource(Consumer<Long2ObjectMap<GlassChunkRecord>> liveSource) {
+        this.liveSource = liveSource;
+    }
+
+    /**
+     * Take (and forget) the stored record for a chunk that is loading
+     */
+    GlassChunkRecord takeDormant(long chunkKey) {
+        CompoundTag tag = dormantChunks.remove(chunkKey);
+        if (tag == null) return null;
+        setDirty();
+        return GlassChunkRecord.decode(new ChunkPos(chunkKey), tag);
+    }
+
+    /**
+     * Store the record for a chunk that is unloading
+     */
+    void putDormant(long chunkKey, GlassChunkRecord record) {
+        if (record.isEmpty()) {
+            if (dormantChunks.remove(chunkKey) == null) return;
+        } else {
+            dormantChunks.put(chunkKey, record.encode());
+        }
+        setDirty();
+    }
+
+    GlassRegionSet getRegions() {
+        return regions;
+    }
+
+    int getDormantChunkCount() {
+        return dormantChunks.size();
+    }
+
+    // ==================== SERIALIZATION ====================
+
+    public static GlassRepairSavedData load(CompoundTag tag, HolderLookup.Provider registries) {
+        GlassRepairSavedData data = new GlassRepairSavedData();
+        ListTag chunks = tag.getList("chunks", Tag.TAG_COMPOUND);
+        for (int i = 0; i < chunks.size(); i++) {
+            CompoundTag chunk = chunks.getCompound(i);
+            data.dormantChunks.put(chunk.getLong("pos"), chunk.getCompound("data"));
+        }
+
+        ListTag regions = tag.getList("regions", Tag.TAG_COMPOUND);
+        for (int i = 0; i < regions.size(); i++) {
+            GlassRepairRegion region = GlassRepairRegion.load(regions.getCompound(i));
+            if (region != null) {
+                data.regions.add(region);
+            }
+        }
+        return data;
+    }
+
+    @Override
+    public CompoundTag save(CompoundTag tag, HolderLookup.Provider registries) {
+        ListTag chunks = new ListTag();
+
+        if (liveSource != null) {
+            Long2ObjectOpenHashMap<GlassChunkRecord> live = new Long2ObjectOpenHashMap<>();
+            liveSource.accept(live);
+            for (Long2ObjectMap.Entry<GlassChunkRecord> entry : Long2ObjectMaps.fastIterable(live)) {
+                if (entry.getValue().isEmpty()) continue;
+                chunks.add(chunkEntry(entry.getLongKey(), entry.getValue().encode()));
+            }
+        }
+
+        for (Long2ObjectMap.Entry<CompoundTag> entry : Long2ObjectMaps.fastIterable(dormantChunks)) {
+            chunks.add(chunkEntry(entry.getLongKey(), entry.getValue()));
+        }
+
+        tag.put("chunks", chunks);
+
+        ListTag regionList = new ListTag();
+        for (GlassRepairRegion region : regions.getRegions()) {
+            regionList.add(region.save());
+        }
+        tag.put("regions", regionList);
+        return tag;
+    }
+
+    private static CompoundTag chunkEntry(long chunkKey, CompoundTag data) {
+        CompoundTag entry = new CompoundTag();
+        entry.putLong("pos", chunkKey);
+        entry.put("data", data);
+        return entry;
+    }
+}
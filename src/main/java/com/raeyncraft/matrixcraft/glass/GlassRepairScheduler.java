@@ -0,0 +1,188 @@
+package com.raeyncraft.matrixcraft.glass;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntMaps;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.ChunkPos;
+
+/**
+ * Tick-bucketed repair queue.
+ *
+ * Repairs are filed under the tick they become due, and a position index backs the
+ * dedupe checks. Scheduling, dedupe and cancellation are O(1), and each tick only
+ * touches the bucket that is actually due instead of decrementing every pending timer.
+ * Pending positions are also indexed by chunk, so unloading a chunk only visits its own
+ * repairs.
+ *
+ * Positions are packed with BlockPos.asLong() and original states are kept as
+ * block-state registry ids.
+ */
+public class GlassRepairScheduler {
+
+    // Due tick -> packed positions filed for that tick (may contain cancelled entries, skipped lazily)
+    private final Long2ObjectOpenHashMap<LongArrayList> buckets = new Long2ObjectOpenHashMap<>();
+    // Packed position -> original block state id
+    private final Long2IntOpenHashMap pendingStates = new Long2IntOpenHashMap();
+    // Packed position -> due tick
+    private final Long2LongOpenHashMap pendingDue = new Long2LongOpenHashMap();
+    // Chunk key -> packed positions pending in that chunk
+    private final Long2ObjectOpenHashMap<LongOpenHashSet> chunkPending = new Long2ObjectOpenHashMap<>();
+    private long currentTick = 0;
+
+    public GlassRepairScheduler() {
+        pendingStates.defaultReturnValue(GlassSectionIndex.NONE);
+        pendingDue.defaultReturnValue(-1L);
+    }
+
+    /**
+     * Schedule a repair unless one is already pending at this position.
+     * @return true if the repair was scheduled
+     */
+    public boolean schedule(long pos, int originalStateId, int delayTicks) {
+        if (pendingStates.containsKey(pos)) return false;
+
+        long dueTick = currentTick + Math.max(1, delayTicks);
+        pendingStates.put(pos, originalStateId);
+        pendingDue.put(pos, dueTick);
+
+        long chunkKey = chunkKey(pos);
+        LongOpenHashSet inChunk = chunkPending.get(chunkKey);
+        if (inChunk == null) {
+            inChunk = new LongOpenHashSet();
+            chunkPending.put(chunkKey, inChunk);
+        }
+        inChunk.add(pos);
+
+        LongArrayList bucket = buckets.get(dueTick);
+        if (bucket == null) {
+            bucket = new LongArrayList();
+            buckets.put(dueTick, bucket);
+        }
+        bucket.add(pos);
+        return true;
+    }
+
+    public boolean isPending(long pos) {
+        return pendingStates.containsKey(pos);
+    }
+
+    /**
+     * Cancel a pending repair. The bucket entry is left behind and skipped when it comes due.
+     * @return the original state id, or {@link GlassSectionIndex#NONE} if nothing was pending
+     */
+    public int cancel(long pos) {
+        if (pendingDue.remove(pos) < 0) return GlassSectionIndex.NONE;
+        unindexChunk(pos);
+        return pendingStates.remove(pos);
+    }
+
+    /**
+     * Whether any repair is pending inside a chunk
+     */
+    public boolean hasChunk(long chunkKey) {
+        return chunkPending.containsKey(chunkKey);
+    }
+
+    /**
+     * Advance one tick and append the repairs that are now due to the given lists.
+     * Returned repairs are no longer pending.
+     * @return number of repairs appended
+     */
+    public int advance(LongArrayList duePositions, IntArrayList dueStates) {
+        currentTick++;
+
+        LongArrayList bucket = buckets.remove(currentTick);
+        if (bucket == null) return 0;
+
+        int count = 0;
+        for (int i = 0; i < bucket.size(); i++) {
+            long pos = bucket.getLong(i);
+            // Skip entries that were cancelled or rescheduled since they were filed
+            if (pendingDue.get(pos) != currentTick) continue;
+
+            pendingDue.remove(pos);
+            unindexChunk(pos);
+            duePositions.add(pos);
+            dueStates.add(pendingStates.remove(pos));
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Remove every pending repair regardless of due time, appending them to the given lists
+     */
+    public int drainAll(LongArrayList positions, IntArrayList states) {
+        int count = pendingStates.size();
+        for (Long2IntMap.Entry entry : Long2IntMaps.fastIterable(pendingStates)) {
+            positions.add(entry.getLongKey());
+            states.add(entry.getIntValue());
+        }
+        clear();
+        return count;
+    }
+
+    /**
+     * Visit every pending repair with its remaining delay
+     */
+    public void forEach(GlassRecordConsumer consumer) {
+        for (Long2IntMap.Entry entry : Long2IntMaps.fastIterable(pendingStates)) {
+            long pos = entry.getLongKey();
+            consumer.accept(pos, entry.getIntValue(), ticksRemaining(pos));
+        }
+    }
+
+    /**
+     * Cancel every pending repair inside a chunk, passing each one to the consumer first
+     */
+    public void removeChunk(long chunkKey, GlassRecordConsumer consumer) {
+        LongOpenHashSet inChunk = chunkPending.remove(chunkKey);
+        if (inChunk == null) return;
+
+        LongIterator iterator = inChunk.iterator();
+        while (iterator.hasNext()) {
+            long pos = iterator.nextLong();
+            consumer.accept(pos, pendingStates.remove(pos), ticksRemaining(pos));
+            pendingDue.remove(pos);
+        }
+    }
+
+    public int ticksRemaining(long pos) {
+        long due = pendingDue.get(pos);
+        return due < 0 ? 0 : (int) Math.max(0, due - currentTick);
+    }
+
+    public int size() {
+        return pendingStates.size();
+    }
+
+    public boolean isEmpty() {
+        return pendingStates.isEmpty();
+    }
+
+    public void clear() {
+        pendingStates.clear();
+        pendingDue.clear();
+        buckets.clear();
+        chunkPending.clear();
+    }
+
+    private void unindexChunk(long pos) {
+        long chunkKey = chunkKey(pos);
+        LongOpenHashSet inChunk = chunkPending.get(chunkKey);
+        if (inChunk != null && inChunk.remove(pos) && inChunk.isEmpty()) {
+            chunkPending.remove(chunkKey);
+        }
+    }
+
+    private static long chunkKey(long pos) {
+        return ChunkPos.asLong(BlockPos.getX(pos) >> 4, BlockPos.getZ(pos) >> 4);
+    }
+}
@@ -1,24 +1,44 @@
 package com.raeyncraft.matrixcraft.glass;
 
+import com.raeyncraft.matrixcraft.MatrixCraftConfig;
 import com.raeyncraft.matrixcraft.MatrixCraftMod;
+import com.raeyncraft.matrixcraft.log.EventCategory;
+import com.raeyncraft.matrixcraft.log.EventLog;
+import com.google.gson.JsonObject;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
 import net.minecraft.server.level.ServerLevel;
-import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.state.BlockState;
-import net.neoforged.bus.api.EventPriority;
+import net.minecraft.world.level.chunk.LevelChunk;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.fml.common.EventBusSubscriber;
-import net.neoforged.neoforge.event.level.BlockEvent;
+import net.neoforged.fml.loading.FMLPaths;
+import net.neoforged.neoforge.event.level.ChunkEvent;
 import net.neoforged.neoforge.event.level.LevelEvent;
 import net.neoforged.neoforge.event.tick.ServerTickEvent;
 
+import java.nio.file.Path;
 import java.util.*;
 
 /**
- * Tracks glass blocks near players and repairs them when destroyed.
- * Uses both event-based detection AND polling for maximum coverage.
+ * Tracks glass blocks in loaded chunks and repairs them when destroyed.
+ * Glass is indexed per chunk section when a chunk loads and kept current by
+ * LevelChunkMixin, which reports every block change - no per-tick sweeps needed.
+ * The index and pending repairs are persisted per dimension in GlassRepairSavedData,
+ * and move in and out of memory with their chunks.
+ * If a level has protected regions, only the sections they intersect are tracked.
+ * GlassSnapshotAuditor periodically diffs section copies off-thread to catch changes
+ * made without a block update.
  */
 @EventBusSubscriber(modid = MatrixCraftMod.MODID)
 public class GlassRepairSystem {
@@ -26,34 +46,69 @@ public class GlassRepairSystem {
     private static final Map<ServerLevel, GlassTracker> trackers = new HashMap<>();
     private static int repairDelayTicks = 60; // Default 3 seconds
     private static boolean enabled = true;
-    private static int scanRadius = 64;
     private static int tickCounter = 0;
     
     private static class GlassTracker {
-        // Maps position -> original block state
-        Map<BlockPos, BlockState> knownGlass = new HashMap<>();
-        // Glass waiting to be repaired
-        List<BrokenGlass> brokenGlass = new ArrayList<>();
-        // Snapshot of glass states from last tick for change detection
-        Map<BlockPos, BlockState> lastTickSnapshot = new HashMap<>();
+        // Chunk-section index of known glass: packed position -> original block state id
+        GlassSectionIndex knownGlass = new GlassSectionIndex();
+        // Glass waiting to be repaired, bucketed by due tick
+        GlassRepairScheduler repairs = new GlassRepairScheduler();
+        // Repairs that are due, waiting for restoration budget
+        GlassRestorationQueue restoration = new GlassRestorationQueue();
+        // Scratch lists reused every tick for due repairs
+        LongArrayList duePositions = new LongArrayList();
+        IntArrayList dueStates = new IntArrayList();
+        // Scratch records for due repairs whose chunk unloaded before they were applied
+        Long2ObjectOpenHashMap<GlassChunkRecord> unloadedRepairs = new Long2ObjectOpenHashMap<>();
+        // Off-thread section diffing for changes that bypass setBlockState
+        GlassSnapshotAuditor auditor = new GlassSnapshotAuditor();
+        // Chunks currently loaded, whether or not they intersect a region
+        LongOpenHashSet loadedChunks = new LongOpenHashSet();
+        // Persistent storage for this dimension
+        GlassRepairSavedData data;
+        
+        GlassRegionSet regions() {
+            return data.getRegions();
+        }
     }
     
-    private static class BrokenGlass {
-        BlockPos position;
-        BlockState originalState;
-        int ticksUntilRepair;
+    private static GlassTracker getOrCreateTracker(ServerLevel level) {
+        return trackers.computeIfAbsent(level, k -> {
+            GlassTracker tracker = new GlassTracker();
+            tracker.data = GlassRepairSavedData.get(level);
+            tracker.data.setLiveSource(out -> collectLiveRecords(tracker, out));
+            return tracker;
+        });
+    }
+    
+    /**
+     * Encode the state of every loaded chunk for saving
+     */
+    private static void collectLiveRecords(GlassTracker tracker, Long2ObjectMap<GlassChunkRecord> out) {
+        LongIterator chunks = tracker.knownGlass.getIndexedChunks().iterator();
+        while (chunks.hasNext()) {
+            out.put(chunks.nextLong(), new GlassChunkRecord());
+        }
         
-        BrokenGlass(BlockPos pos, BlockState state, int delay) {
-            this.position = pos.immutable();
-            this.originalState = state;
-            this.ticksUntilRepair = delay;
+        tracker.knownGlass.forEach((pos, stateId) -> recordFor(out, pos).addGlass(pos, stateId));
+        tracker.repairs.forEach((pos, stateId, ticks) -> recordFor(out, pos).addPending(pos, stateId, ticks));
+        tracker.restoration.forEach((pos, stateId, ticks) -> recordFor(out, pos).addPending(pos, stateId, ticks));
+    }
+    
+    private static GlassChunkRecord recordFor(Long2ObjectMap<GlassChunkRecord> records, long pos) {
+        long chunkKey = ChunkPos.asLong(BlockPos.getX(pos) >> 4, BlockPos.getZ(pos) >> 4);
+        GlassChunkRecord record = records.get(chunkKey);
+        if (record == null) {
+            record = new GlassChunkRecord();
+            records.put(chunkKey, record);
         }
+        return record;
     }
     
     @SubscribeEvent
     public static void onLevelLoad(LevelEvent.Load event) {
         if (event.getLevel() instanceof ServerLevel serverLevel) {
-            trackers.putIfAbsent(serverLevel, new GlassTracker());
+            getOrCreateTracker(serverLevel);
             MatrixCraftMod.LOGGER.info("[GlassRepair] Initialized for level: " + serverLevel.dimension().location());
         }
     }
@@ -67,53 +122,182 @@ public class GlassRepairSystem {
     }
     
     /**
-     * EVENT-BASED DETECTION: Catches normal block breaks (player, explosion, etc.)
-     * This won't catch TacZ bullets if they bypass the event system, but it's a good backup.
+     * Index all glass in a chunk as soon as it loads.
+     * Saved state is restored if there is any; otherwise the chunk is scanned,
+     * skipping sections whose palette holds no glass. Chunks outside every
+     * protected region are not indexed at all.
      */
-    @SubscribeEvent(priority = EventPriority.LOWEST)
-    public static void onBlockBreak(BlockEvent.BreakEvent event) {
-        if (!enabled) return;
+    @SubscribeEvent
+    public static void onChunkLoad(ChunkEvent.Load event) {
         if (!(event.getLevel() instanceof ServerLevel serverLevel)) return;
+        if (!(event.getChunk() instanceof LevelChunk chunk)) return;
+        
+        GlassTracker tracker = getOrCreateTracker(serverLevel);
+        long chunkKey = chunk.getPos().toLong();
+        tracker.loadedChunks.add(chunkKey);
         
-        BlockState state = event.getState();
-        if (!isGlassBlock(state.getBlock())) return;
+        // Uncovered chunks keep their saved record, in case a region covering them is added later
+        if (!tracker.regions().coversChunk(chunk.getPos().x, chunk.getPos().z)) return;
+        GlassChunkRecord record = tracker.data.takeDormant(chunkKey);
+        
+        long start = System.nanoTime();
+        if (record != null) {
+            restoreChunk(tracker, chunk, record);
+            GlassRepairMetrics.recordScan(System.nanoTime() - start,
+                record.glassPositions.size() + record.pendingPositions.size());
+        } else {
+            if (tracker.knownGlass.indexChunk(chunk, tracker.regions()) > 0) {
+                tracker.data.setDirty();
+            }
+            GlassRepairMetrics.recordScan(System.nanoTime() - start, tracker.knownGlass.getLastBlocksExamined());
+        }
+    }
+    
+    /**
+     * Move a chunk's glass and pending repairs out of memory into saved data
+     */
+    @SubscribeEvent
+    public static void onChunkUnload(ChunkEvent.Unload event) {
+        if (!(event.getLevel() instanceof ServerLevel serverLevel)) return;
         
-        BlockPos pos = event.getPos().immutable();
         GlassTracker tracker = trackers.get(serverLevel);
         if (tracker == null) return;
         
-        // Schedule repair
-        tracker.brokenGlass.add(new BrokenGlass(pos, state, repairDelayTicks));
-        tracker.knownGlass.remove(pos);
+        ChunkPos chunkPos = event.getChunk().getPos();
+        long chunkKey = chunkPos.toLong();
+        tracker.loadedChunks.remove(chunkKey);
+        if (!tracker.knownGlass.isChunkIndexed(chunkKey)
+            && !tracker.repairs.hasChunk(chunkKey) && !tracker.restoration.hasChunk(chunkKey)) return;
         
-        MatrixCraftMod.LOGGER.info("[GlassRepair] EVENT: Glass broken at " + pos + " by " + 
-            (event.getPlayer() != null ? event.getPlayer().getName().getString() : "unknown") +
-            " - will repair in " + (repairDelayTicks / 20) + " seconds");
+        GlassChunkRecord record = new GlassChunkRecord();
+        tracker.knownGlass.forEachInChunk(chunkKey, record::addGlass);
+        tracker.repairs.removeChunk(chunkKey, record::addPending);
+        tracker.restoration.removeChunk(chunkKey, record::addPending);
+        tracker.knownGlass.dropChunk(chunkPos);
+        tracker.data.putDormant(chunkKey, record);
     }
     
     /**
-     * Also listen for NeighborNotify events which fire when adjacent blocks change
-     * This can help catch some edge cases
+     * Append repairs for unloaded chunks to their dormant records, then empty the given map
+     * @return number of repairs deferred
      */
-    @SubscribeEvent
-    public static void onNeighborNotify(BlockEvent.NeighborNotifyEvent event) {
+    private static int deferToDormant(GlassTracker tracker, Long2ObjectOpenHashMap<GlassChunkRecord> records) {
+        if (records.isEmpty()) return 0;
+        
+        int count = 0;
+        for (Long2ObjectMap.Entry<GlassChunkRecord> entry : Long2ObjectMaps.fastIterable(records)) {
+            long chunkKey = entry.getLongKey();
+            GlassChunkRecord pending = entry.getValue();
+            GlassChunkRecord record = tracker.data.takeDormant(chunkKey);
+            if (record == null) {
+                record = pending;
+            } else {
+                for (int i = 0; i < pending.pendingPositions.size(); i++) {
+                    record.addPending(pending.pendingPositions.getLong(i), pending.pendingStates.getInt(i),
+                        pending.pendingTimers.getInt(i));
+                }
+            }
+            tracker.data.putDormant(chunkKey, record);
+            count += pending.pendingPositions.size();
+        }
+        records.clear();
+        return count;
+    }
+    
+    /**
+     * Load a chunk's saved glass and pending repairs, dropping anything the chunk no longer
+     * matches and anything outside the level's protected regions
+     */
+    private static void restoreChunk(GlassTracker tracker, LevelChunk chunk, GlassChunkRecord record) {
+        tracker.knownGlass.dropChunk(chunk.getPos());
+        tracker.knownGlass.markChunkIndexed(chunk.getPos().toLong());
+        
+        GlassRegionSet regions = tracker.regions();
+        BlockPos.MutableBlockPos position = new BlockPos.MutableBlockPos();
+        for (int i = 0; i < record.glassPositions.size(); i++) {
+            long pos = record.glassPositions.getLong(i);
+            if (!regions.covers(BlockPos.getX(pos), BlockPos.getY(pos), BlockPos.getZ(pos))) continue;
+            BlockState current = chunk.getBlockState(position.set(pos));
+            if (isGlass(current)) {
+                tracker.knownGlass.put(pos, Block.getId(current));
+            }
+        }
+        
+        restorePending(tracker, chunk, record);
+    }
+    
+    /**
+     * Reschedule a chunk's saved pending repairs that are still air and inside a protected region
+     */
+    private static void restorePending(GlassTracker tracker, LevelChunk chunk, GlassChunkRecord record) {
+        GlassRegionSet regions = tracker.regions();
+        BlockPos.MutableBlockPos position = new BlockPos.MutableBlockPos();
+        for (int i = 0; i < record.pendingPositions.size(); i++) {
+            long pos = record.pendingPositions.getLong(i);
+            if (!regions.covers(BlockPos.getX(pos), BlockPos.getY(pos), BlockPos.getZ(pos))) continue;
+            if (chunk.getBlockState(position.set(pos)).isAir()) {
+                tracker.repairs.schedule(pos, record.pendingStates.getInt(i), record.pendingTimers.getInt(i));
+            }
+        }
+    }
+    
+    /**
+     * Called from LevelChunkMixin for every server-side block change.
+     * Reports glass-to-non-glass transitions straight into the tracker, which catches
+     * TacZ bullets and anything else that bypasses BlockEvent.BreakEvent.
+     */
+    public static void onBlockChanged(ServerLevel level, BlockPos pos, BlockState oldState, BlockState newState) {
         if (!enabled) return;
-        if (!(event.getLevel() instanceof ServerLevel serverLevel)) return;
         
-        GlassTracker tracker = trackers.get(serverLevel);
+        boolean wasGlass = isGlass(oldState);
+        boolean nowGlass = isGlass(newState);
+        if (!wasGlass && !nowGlass) return;
+        
+        GlassTracker tracker = trackers.get(level);
         if (tracker == null) return;
+        if (!tracker.knownGlass.isChunkIndexed(ChunkPos.asLong(pos))) return;
+        
+        GlassRegionSet regions = tracker.regions();
+        if (!regions.covers(pos.getX(), pos.getY(), pos.getZ())) return;
+        
+        long start = System.nanoTime();
+        long packedPos = pos.asLong();
+        tracker.data.setDirty();
+        
+        if (wasGlass && nowGlass) {
+            // Shape change (e.g. pane connections) - keep the index current
+            tracker.knownGlass.put(packedPos, Block.getId(newState));
+            GlassRepairMetrics.recordDetection(System.nanoTime() - start, false);
+            return;
+        }
+        
+        if (nowGlass) {
+            // Newly placed (or repaired) glass - a pending repair here is no longer needed
+            tracker.repairs.cancel(packedPos);
+            tracker.knownGlass.put(packedPos, Block.getId(newState));
+            GlassRepairMetrics.recordDetection(System.nanoTime() - start, false);
+            return;
+        }
+        
+        // Glass is GONE!
+        int knownStateId = tracker.knownGlass.remove(packedPos);
+        int originalStateId = knownStateId != GlassSectionIndex.NONE ? knownStateId : Block.getId(oldState);
         
-        BlockPos changedPos = event.getPos().immutable();
-        
-        // Check if any known glass was at this position
-        BlockState knownState = tracker.knownGlass.get(changedPos);
-        if (knownState != null) {
-            BlockState currentState = serverLevel.getBlockState(changedPos);
-            if (!isGlassBlock(currentState.getBlock())) {
-                // Glass was here, now it's gone!
-                tracker.brokenGlass.add(new BrokenGlass(changedPos, knownState, repairDelayTicks));
-                tracker.knownGlass.remove(changedPos);
-                MatrixCraftMod.LOGGER.info("[GlassRepair] NEIGHBOR: Detected glass removal at " + changedPos);
+        if (newState.isAir()) {
+            // It was destroyed - schedule repair
+            // The scheduler ignores positions that are already pending
+            int delayTicks = regions.delayAt(pos.getX(), pos.getY(), pos.getZ(), repairDelayTicks);
+            boolean scheduled = tracker.repairs.schedule(packedPos, originalStateId, delayTicks);
+            GlassRepairMetrics.recordDetection(System.nanoTime() - start, scheduled);
+            if (scheduled && EventLog.isEnabled(EventCategory.GLASS)) {
+                EventLog.log(EventCategory.GLASS, "Detected glass destruction at {} - will repair in {} seconds",
+                    pos.immutable(), delayTicks / 20);
+            }
+        } else {
+            // Replaced with something else
+            GlassRepairMetrics.recordDetection(System.nanoTime() - start, false);
+            if (EventLog.isEnabled(EventCategory.GLASS)) {
+                EventLog.log(EventCategory.GLASS, "Glass at {} was replaced with {}", pos.immutable(), newState.getBlock());
             }
         }
     }
@@ -124,200 +308,122 @@ public class GlassRepairSystem {
         
         tickCounter++;
         
-        // EVERY TICK: Check for direct block changes (catches TacZ bullets!)
-        checkForDirectBlockChanges();
+        // Every tick: Process repairs
+        processRepairs();
         
-        // Every 20 ticks: Full scan for new glass
-        if (tickCounter % 20 == 0) {
-            scanForGlassNearPlayers();
+        if (MatrixCraftConfig.isGlassAuditEnabled()) {
+            runAudits();
         }
         
-        // Every tick: Process repairs
-        processRepairs();
+        int dumpInterval = MatrixCraftConfig.getGlassStatsDumpIntervalTicks();
+        if (dumpInterval > 0 && tickCounter % dumpInterval == 0) {
+            dumpStats();
+        }
+        
+        // Log status every 5 seconds
+        if (tickCounter % 100 == 0 && EventLog.isEnabled(EventCategory.GLASS)) {
+            for (GlassTracker tracker : trackers.values()) {
+                if (tracker.knownGlass.size() == 0 && tracker.repairs.isEmpty() && tracker.restoration.isEmpty()) continue;
+                EventLog.log(EventCategory.GLASS, "Status: {} glass tracked in {} sections, {} pending repair",
+                    tracker.knownGlass.size(), tracker.knownGlass.sectionCount(),
+                    tracker.repairs.size() + tracker.restoration.size());
+            }
+        }
     }
     
     /**
-     * DIRECT CHANGE DETECTION: Compares current block states to our snapshot
-     * This catches TacZ bullets and anything else that bypasses events!
+     * Move due repairs into the restoration queue, then restore within the per-tick budget.
+     * Anything the budget doesn't cover rolls over to the next tick.
      */
-    private static void checkForDirectBlockChanges() {
+    private static void processRepairs() {
+        long start = System.nanoTime();
+        int blockBudget = MatrixCraftConfig.getGlassRepairMaxPerTick();
+        long deadline = System.nanoTime() + MatrixCraftConfig.getGlassRepairBudgetNanos();
+        
+        for (GlassTracker tracker : trackers.values()) {
+            // Only the repairs filed for this tick are touched
+            tracker.duePositions.clear();
+            tracker.dueStates.clear();
+            int due = tracker.repairs.advance(tracker.duePositions, tracker.dueStates);
+            for (int i = 0; i < due; i++) {
+                tracker.restoration.add(tracker.duePositions.getLong(i), tracker.dueStates.getInt(i));
+            }
+        }
+        
+        int totalRestored = 0;
+        boolean deferred = false;
         for (Map.Entry<ServerLevel, GlassTracker> entry : trackers.entrySet()) {
-            ServerLevel level = entry.getKey();
             GlassTracker tracker = entry.getValue();
+            if (tracker.restoration.isEmpty()) continue;
+            if (blockBudget <= 0 || System.nanoTime() > deadline) {
+                deferred = true;
+                break;
+            }
             
-            if (level.players().isEmpty()) continue;
+            int queued = tracker.restoration.size();
+            int restored = tracker.restoration.drain(entry.getKey(), blockBudget, deadline,
+                (pos, stateId, ticks) -> recordFor(tracker.unloadedRepairs, pos).addPending(pos, stateId, ticks));
+            deferToDormant(tracker, tracker.unloadedRepairs);
+            blockBudget -= restored;
+            totalRestored += restored;
+            deferred |= !tracker.restoration.isEmpty();
             
-            // Check all known glass positions
-            Iterator<Map.Entry<BlockPos, BlockState>> iterator = tracker.knownGlass.entrySet().iterator();
-            while (iterator.hasNext()) {
-                Map.Entry<BlockPos, BlockState> glassEntry = iterator.next();
-                BlockPos pos = glassEntry.getKey();
-                BlockState expectedState = glassEntry.getValue();
-                
-                // Check the actual block
-                BlockState currentState = level.getBlockState(pos);
-                
-                if (!isGlassBlock(currentState.getBlock())) {
-                    // Glass is GONE!
-                    if (currentState.isAir()) {
-                        // It was destroyed - schedule repair
-                        // Check if we already have this pending
-                        boolean alreadyPending = tracker.brokenGlass.stream()
-                            .anyMatch(bg -> bg.position.equals(pos));
-                        
-                        if (!alreadyPending) {
-                            tracker.brokenGlass.add(new BrokenGlass(pos, expectedState, repairDelayTicks));
-                            MatrixCraftMod.LOGGER.info("[GlassRepair] DIRECT: Detected glass destruction at " + pos + 
-                                " - will repair in " + (repairDelayTicks / 20) + " seconds");
-                        }
-                    } else {
-                        // Replaced with something else
-                        MatrixCraftMod.LOGGER.info("[GlassRepair] Glass at " + pos + 
-                            " was replaced with " + currentState.getBlock().getName().getString());
-                    }
-                    iterator.remove();
-                }
+            if (EventLog.isEnabled(EventCategory.GLASS)) {
+                EventLog.log(EventCategory.GLASS, "Restored {} glass blocks, {} of {} deferred to next tick",
+                    restored, tracker.restoration.size(), queued);
             }
         }
+        GlassRepairMetrics.recordRepairTick(System.nanoTime() - start, totalRestored, deferred);
     }
     
     /**
-     * Scan for new glass near players - only adds NEW glass, doesn't remove
-     * OPTIMIZED: Only scans a subset of blocks per tick to reduce lag
+     * Apply changes reported by the snapshot audit, then snapshot the next sections.
+     * Reported positions are re-read here since the snapshot may be a few ticks old.
      */
-    private static void scanForGlassNearPlayers() {
+    private static void runAudits() {
+        int interval = MatrixCraftConfig.getGlassAuditIntervalTicks();
+        int sectionsPerTick = MatrixCraftConfig.getGlassAuditSectionsPerTick();
+        
         for (Map.Entry<ServerLevel, GlassTracker> entry : trackers.entrySet()) {
             ServerLevel level = entry.getKey();
             GlassTracker tracker = entry.getValue();
+            BlockPos.MutableBlockPos position = new BlockPos.MutableBlockPos();
+            int[] corrections = new int[1];
+            long start = System.nanoTime();
             
-            if (level.players().isEmpty()) continue;
-            
-            int newGlassFound = 0;
-            int blocksChecked = 0;
-            
-            // Scan around each player - use a smaller area with complete coverage
-            // 32 blocks = reasonable for most builds, and much faster
-            int effectiveRadius = Math.min(scanRadius, 32);
-            
-            for (ServerPlayer player : level.players()) {
-                BlockPos playerPos = player.blockPosition();
+            tracker.auditor.drainChanges(pos -> {
+                // The chunk may have unloaded since the snapshot - don't load it again to check
+                long chunkKey = ChunkPos.asLong(SectionPos.blockToSectionCoord(BlockPos.getX(pos)),
+                    SectionPos.blockToSectionCoord(BlockPos.getZ(pos)));
+                if (!tracker.knownGlass.isChunkIndexed(chunkKey)) return;
                 
-                // Full scan but with reasonable radius
-                for (int x = -effectiveRadius; x <= effectiveRadius; x++) {
-                    for (int y = -effectiveRadius; y <= effectiveRadius; y++) {
-                        for (int z = -effectiveRadius; z <= effectiveRadius; z++) {
-                            BlockPos checkPos = playerPos.offset(x, y, z);
-                            blocksChecked++;
-                            
-                            // Skip if already tracked
-                            BlockPos immutablePos = checkPos.immutable();
-                            if (tracker.knownGlass.containsKey(immutablePos)) {
-                                continue;
-                            }
-                            
-                            BlockState state = level.getBlockState(checkPos);
-                            
-                            if (isGlassBlock(state.getBlock())) {
-                                // Only track if not pending repair
-                                boolean isPending = tracker.brokenGlass.stream()
-                                    .anyMatch(bg -> bg.position.equals(immutablePos));
-                                
-                                if (!isPending) {
-                                    tracker.knownGlass.put(immutablePos, state);
-                                    newGlassFound++;
-                                }
-                            }
-                        }
-                    }
-                }
-            }
-            
-            // Log status every 5 seconds
-            if (tickCounter % 100 == 0) {
-                MatrixCraftMod.LOGGER.info("[GlassRepair] Status: " + 
-                    tracker.knownGlass.size() + " glass tracked, " + 
-                    tracker.brokenGlass.size() + " pending repair" +
-                    (newGlassFound > 0 ? ", +" + newGlassFound + " new" : ""));
-            }
-        }
-    }
-    
-    private static void processRepairs() {
-        for (Map.Entry<ServerLevel, GlassTracker> entry : trackers.entrySet()) {
-            ServerLevel level = entry.getKey();
-            GlassTracker tracker = entry.getValue();
-            
-            Iterator<BrokenGlass> iterator = tracker.brokenGlass.iterator();
-            while (iterator.hasNext()) {
-                BrokenGlass glass = iterator.next();
-                glass.ticksUntilRepair--;
+                BlockState current = level.getBlockState(position.set(pos));
+                int indexedStateId = tracker.knownGlass.getStateId(pos);
+                if (indexedStateId == Block.getId(current)) return; // Already caught up
                 
-                if (glass.ticksUntilRepair <= 0) {
-                    BlockState currentState = level.getBlockState(glass.position);
-                    
-                    // Only repair if still air (don't replace player-placed blocks)
-                    if (currentState.isAir()) {
-                        level.setBlock(glass.position, glass.originalState, 3);
-                        tracker.knownGlass.put(glass.position, glass.originalState);
-                        MatrixCraftMod.LOGGER.info("[GlassRepair] Repaired glass at " + glass.position);
-                    } else {
-                        MatrixCraftMod.LOGGER.info("[GlassRepair] Skipped repair at " + glass.position + 
-                            " - block is now " + currentState.getBlock().getName().getString());
-                    }
-                    
-                    iterator.remove();
+                BlockState previous = indexedStateId != GlassSectionIndex.NONE
+                    ? Block.stateById(indexedStateId)
+                    : Blocks.AIR.defaultBlockState();
+                BlockPos changedPos = position.immutable();
+                if (EventLog.isEnabled(EventCategory.GLASS)) {
+                    EventLog.log(EventCategory.GLASS, "Audit found unreported change at {}", changedPos);
                 }
+                onBlockChanged(level, changedPos, previous, current);
+                corrections[0]++;
+            });
+            
+            int snapshotted = tracker.auditor.tick(level, tracker.knownGlass, interval, sectionsPerTick);
+            if (snapshotted > 0 || corrections[0] > 0) {
+                GlassRepairMetrics.recordAudit(System.nanoTime() - start, corrections[0]);
             }
         }
     }
     
     /**
-     * Checks if a block is any vanilla glass block.
-     * Explicitly lists all vanilla glass to avoid false positives/negatives.
+     * Checks if a block state is protected glass (see GlassClassifier)
      */
-    private static boolean isGlassBlock(Block block) {
-        // Regular glass
-        if (block == Blocks.GLASS) return true;
-        if (block == Blocks.GLASS_PANE) return true;
-        if (block == Blocks.TINTED_GLASS) return true;
-        
-        // All 16 stained glass blocks
-        if (block == Blocks.WHITE_STAINED_GLASS) return true;
-        if (block == Blocks.ORANGE_STAINED_GLASS) return true;
-        if (block == Blocks.MAGENTA_STAINED_GLASS) return true;
-        if (block == Blocks.LIGHT_BLUE_STAINED_GLASS) return true;
-        if (block == Blocks.YELLOW_STAINED_GLASS) return true;
-        if (block == Blocks.LIME_STAINED_GLASS) return true;
-        if (block == Blocks.PINK_STAINED_GLASS) return true;
-        if (block == Blocks.GRAY_STAINED_GLASS) return true;
-        if (block == Blocks.LIGHT_GRAY_STAINED_GLASS) return true;
-        if (block == Blocks.CYAN_STAINED_GLASS) return true;
-        if (block == Blocks.PURPLE_STAINED_GLASS) return true;
-        if (block == Blocks.BLUE_STAINED_GLASS) return true;
-        if (block == Blocks.BROWN_STAINED_GLASS) return true;
-        if (block == Blocks.GREEN_STAINED_GLASS) return true;
-        if (block == Blocks.RED_STAINED_GLASS) return true;
-        if (block == Blocks.BLACK_STAINED_GLASS) return true;
-        
-        // All 16 stained glass panes
-        if (block == Blocks.WHITE_STAINED_GLASS_PANE) return true;
-        if (block == Blocks.ORANGE_STAINED_GLASS_PANE) return true;
-        if (block == Blocks.MAGENTA_STAINED_GLASS_PANE) return true;
-        if (block == Blocks.LIGHT_BLUE_STAINED_GLASS_PANE) return true;
-        if (block == Blocks.YELLOW_STAINED_GLASS_PANE) return true;
-        if (block == Blocks.LIME_STAINED_GLASS_PANE) return true;
-        if (block == Blocks.PINK_STAINED_GLASS_PANE) return true;
-        if (block == Blocks.GRAY_STAINED_GLASS_PANE) return true;
-        if (block == Blocks.LIGHT_GRAY_STAINED_GLASS_PANE) return true;
-        if (block == Blocks.CYAN_STAINED_GLASS_PANE) return true;
-        if (block == Blocks.PURPLE_STAINED_GLASS_PANE) return true;
-        if (block == Blocks.BLUE_STAINED_GLASS_PANE) return true;
-        if (block == Blocks.BROWN_STAINED_GLASS_PANE) return true;
-        if (block == Blocks.GREEN_STAINED_GLASS_PANE) return true;
-        if (block == Blocks.RED_STAINED_GLASS_PANE) return true;
-        if (block == Blocks.BLACK_STAINED_GLASS_PANE) return true;
-        
-        return false;
+    static boolean isGlass(BlockState state) {
+        return GlassClassifier.isRepairable(state);
     }
     
     // ========== Command Methods ==========
@@ -336,7 +442,9 @@ public class GlassRepairSystem {
         if (!enabled) {
             // Clear all pending repairs when disabled
             for (GlassTracker tracker : trackers.values()) {
-                tracker.brokenGlass.clear();
+                tracker.repairs.clear();
+                tracker.restoration.clear();
+                tracker.data.setDirty();
             }
         }
         MatrixCraftMod.LOGGER.info("[GlassRepair] System " + (enabled ? "enabled" : "disabled"));
@@ -348,36 +456,54 @@ public class GlassRepairSystem {
     
     public static int getPendingRepairCount(ServerLevel level) {
         GlassTracker tracker = trackers.get(level);
-        return tracker == null ? 0 : tracker.brokenGlass.size();
+        return tracker == null ? 0 : tracker.repairs.size() + tracker.restoration.size();
     }
     
     public static void clearPendingRepairs(ServerLevel level) {
         GlassTracker tracker = trackers.get(level);
         if (tracker != null) {
-            int count = tracker.brokenGlass.size();
-            tracker.brokenGlass.clear();
+            int count = tracker.repairs.size() + tracker.restoration.size();
+            tracker.repairs.clear();
+            tracker.restoration.clear();
+            tracker.data.setDirty();
             MatrixCraftMod.LOGGER.info("[GlassRepair] Cleared " + count + " pending repairs");
         }
     }
     
     public static void repairAllNow(ServerLevel level) {
         GlassTracker tracker = trackers.get(level);
-        if (tracker == null || tracker.brokenGlass.isEmpty()) {
+        if (tracker == null || (tracker.repairs.isEmpty() && tracker.restoration.isEmpty())) {
             MatrixCraftMod.LOGGER.info("[GlassRepair] No glass to repair");
             return;
         }
         
+        LongArrayList positions = new LongArrayList();
+        IntArrayList states = new IntArrayList();
+        tracker.restoration.drainAll(positions, states);
+        tracker.repairs.drainAll(positions, states);
+        int count = positions.size();
+        
         int repaired = 0;
-        for (BrokenGlass g : tracker.brokenGlass) {
-            if (level.getBlockState(g.position).isAir()) {
-                level.setBlock(g.position, g.originalState, 3);
-                tracker.knownGlass.put(g.position, g.originalState);
+        BlockPos.MutableBlockPos position = new BlockPos.MutableBlockPos();
+        for (int i = 0; i < count; i++) {
+            long pos = positions.getLong(i);
+            int stateId = states.getInt(i);
+            if (!level.hasChunk(BlockPos.getX(pos) >> 4, BlockPos.getZ(pos) >> 4)) {
+                // Applied when the chunk next loads
+                recordFor(tracker.unloadedRepairs, pos).addPending(pos, stateId, 0);
+                continue;
+            }
+            position.set(pos);
+            if (level.getBlockState(position).isAir()) {
+                // LevelChunkMixin re-indexes the restored glass
+                level.setBlock(position, Block.stateById(stateId), Block.UPDATE_CLIENTS);
                 repaired++;
             }
         }
+        int deferred = deferToDormant(tracker, tracker.unloadedRepairs);
         
-        tracker.brokenGlass.clear();
-        MatrixCraftMod.LOGGER.info("[GlassRepair] Instantly repaired " + repaired + " glass blocks");
+        MatrixCraftMod.LOGGER.info("[GlassRepair] Instantly repaired " + repaired + " glass blocks, "
+            + deferred + " deferred until their chunks load");
     }
     
     public static int getTrackedGlassCount(ServerLevel level) {
@@ -386,13 +512,131 @@ public class GlassRepairSystem {
     }
     
     /**
-     * Force re-scan and re-track all glass (useful for debugging)
+     * Force re-index of all glass in loaded chunks (useful for debugging, and after regions change)
      */
     public static void rescan(ServerLevel level) {
         GlassTracker tracker = trackers.get(level);
         if (tracker != null) {
             tracker.knownGlass.clear();
-            MatrixCraftMod.LOGGER.info("[GlassRepair] Cleared tracking data, will rescan on next tick");
+            GlassRegionSet regions = tracker.regions();
+            
+            int indexed = 0;
+            int found = 0;
+            int dropped = 0;
+            LongIterator chunks = tracker.loadedChunks.iterator();
+            while (chunks.hasNext()) {
+                long chunkKey = chunks.nextLong();
+                int chunkX = ChunkPos.getX(chunkKey);
+                int chunkZ = ChunkPos.getZ(chunkKey);
+                
+                // Pull the chunk's pending repairs out so they are re-checked against the new regions
+                GlassChunkRecord pending = new GlassChunkRecord();
+                tracker.repairs.removeChunk(chunkKey, pending::addPending);
+                tracker.restoration.removeChunk(chunkKey, pending::addPending);
+                
+                LevelChunk chunk = regions.coversChunk(chunkX, chunkZ)
+                    ? level.getChunkSource().getChunkNow(chunkX, chunkZ) : null;
+                if (chunk == null) {
+                    // No region covers it any more - glass broken here stays broken
+                    dropped += pending.pendingPositions.size();
+                    continue;
+                }
+                
+                found += tracker.knownGlass.indexChunk(chunk, regions);
+                indexed++;
+                
+                int before = tracker.repairs.size();
+                restorePending(tracker, chunk, pending);
+                dropped += pending.pendingPositions.size() - (tracker.repairs.size() - before);
+                
+                // Left in saved data while no region covered the chunk
+                GlassChunkRecord record = tracker.data.takeDormant(chunkKey);
+                if (record != null) {
+                    restorePending(tracker, chunk, record);
+                }
+            }
+            tracker.data.setDirty();
+            MatrixCraftMod.LOGGER.info("[GlassRepair] Re-indexed " + indexed + " chunks, found " + found
+                + " glass blocks, dropped " + dropped + " pending repairs");
         }
     }
+    
+    /**
+     * Re-index every level, e.g. after the repairable tag changed
+     */
+    public static void rescanAll() {
+        for (ServerLevel level : new ArrayList<>(trackers.keySet())) {
+            rescan(level);
+        }
+    }
+    
+    // ========== Stats Methods ==========
+    
+    /**
+     * Metrics plus live tracker gauges for every level
+     */
+    public static JsonObject getStatsJson() {
+        JsonObject json = GlassRepairMetrics.toJson();
+        JsonObject levels = new JsonObject();
+        for (Map.Entry<ServerLevel, GlassTracker> entry : trackers.entrySet()) {
+            GlassTracker tracker = entry.getValue();
+            JsonObject gauges = new JsonObject();
+            gauges.addProperty("trackedGlass", tracker.knownGlass.size());
+            gauges.addProperty("trackedSections", tracker.knownGlass.sectionCount());
+            gauges.addProperty("indexedChunks", tracker.knownGlass.getIndexedChunks().size());
+            gauges.addProperty("dormantChunks", tracker.data.getDormantChunkCount());
+            gauges.addProperty("pendingRepairs", tracker.repairs.size());
+            gauges.addProperty("restorationQueue", tracker.restoration.size());
+            gauges.addProperty("auditInFlight", tracker.auditor.getInFlight());
+            gauges.addProperty("regions", tracker.regions().getRegions().size());
+            levels.add(entry.getKey().dimension().location().toString(), gauges);
+        }
+        json.add("levels", levels);
+        return json;
+    }
+    
+    /**
+     * Write current stats to matrixcraft/glassrepair-stats.json in the game directory
+     * @return the file written
+     */
+    public static Path dumpStats() {
+        Path file = FMLPaths.GAMEDIR.get().resolve("matrixcraft").resolve("glassrepair-stats.json");
+        GlassRepairMetrics.writeJson(getStatsJson(), file);
+        return file;
+    }
+    
+    // ========== Region Methods ==========
+    
+    /**
+     * Add a protected region and re-index the level so tracking follows the new volume.
+     * @param delaySeconds repair delay inside this region, 0 to use the global delay
+     * @return false if a region with this name already exists
+     */
+    public static boolean addRegion(ServerLevel level, String name, BlockPos from, BlockPos to, int delaySeconds) {
+        GlassTracker tracker = getOrCreateTracker(level);
+        if (!tracker.regions().add(new GlassRepairRegion(name, from, to, delaySeconds * 20))) return false;
+        
+        MatrixCraftMod.LOGGER.info("[GlassRepair] Added region '" + name + "' " + tracker.regions().get(name).describeBounds());
+        rescan(level);
+        return true;
+    }
+    
+    /**
+     * Remove a protected region and re-index the level.
+     * Repairs pending inside it that no other region covers are cancelled.
+     * @return false if no region with this name exists
+     */
+    public static boolean removeRegion(ServerLevel level, String name) {
+        GlassTracker tracker = trackers.get(level);
+        if (tracker == null || !tracker.regions().remove(name)) return false;
+        
+        MatrixCraftMod.LOGGER.info("[GlassRepair] Removed region '" + name + "'");
+        rescan(level);
+        return true;
+    }
+    
+    public static List<GlassRepairRegion> getRegions(ServerLevel level) {
+        GlassTracker tracker = trackers.get(level);
+        return tracker == null ? List.of() : tracker.regions().getRegions();
+    }
 }
@@ -0,0 +1,193 @@
+package com.raeyncraft.matrixcraft.glass;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+
+/**
+ * Repairs that are due but not yet applied, grouped by chunk section.
+ *
+ * Draining works through one section at a time and stops when the per-tick block or
+ * time budget runs out; whatever is left rolls over to the next tick. Blocks are set with
+ * UPDATE_CLIENTS only - shapes of neighbouring panes are still fixed up, but no neighbour
+ * update cascade runs, and the chunk holder sends each section's changes to clients as a
+ * single section update packet at the end of the tick.
+ * Sections are also indexed by chunk, so unloading a chunk only visits its own batches.
+ */
+public class GlassRestorationQueue {
+
+    // Block flags used for restoration: sync to clients, skip neighbour updates
+    private static final int RESTORE_FLAGS = Block.UPDATE_CLIENTS;
+
+    // How many blocks to place between clock reads
+    private static final int TIME_CHECK_INTERVAL = 16;
+
+    private static class SectionBatch {
+        final LongArrayList positions = new LongArrayList();
+        final IntArrayList states = new IntArrayList();
+        int cursor = 0;
+
+        int remaining() {
+            return positions.size() - cursor;
+        }
+    }
+
+    // Section key -> batch, in the order sections became due
+    private final Long2ObjectLinkedOpenHashMap<SectionBatch> sections = new Long2ObjectLinkedOpenHashMap<>();
+    // Chunk key -> keys of that chunk's queued sections
+    private final Long2ObjectOpenHashMap<LongArrayList> chunkSections = new Long2ObjectOpenHashMap<>();
+    private final BlockPos.MutableBlockPos cursorPos = new BlockPos.MutableBlockPos();
+    private int size = 0;
+
+    public void add(long pos, int stateId) {
+        long key = SectionPos.blockToSection(pos);
+        SectionBatch batch = sections.get(key);
+        if (batch == null) {
+            batch = new SectionBatch();
+            sections.put(key, batch);
+
+            long chunkKey = ChunkPos.asLong(SectionPos.x(key), SectionPos.z(key));
+            LongArrayList inChunk = chunkSections.get(chunkKey);
+            if (inChunk == null) {
+                inChunk = new LongArrayList(4);
+                chunkSections.put(chunkKey, inChunk);
+            }
+            inChunk.add(key);
+        }
+        batch.positions.add(pos);
+        batch.states.add(stateId);
+        size++;
+    }
+
+    /**
+     * Apply queued repairs until the queue is empty or a budget runs out.
+     * Sections whose chunk is not loaded are removed and handed to {@code unloaded}
+     * instead, so they never force a chunk load.
+     * @param maxBlocks maximum number of blocks to restore
+     * @param deadlineNanos System.nanoTime() value after which to stop
+     * @param unloaded receives every repair skipped because its chunk is not loaded
+     * @return number of blocks restored
+     */
+    public int drain(ServerLevel level, int maxBlocks, long deadlineNanos, GlassRecordConsumer unloaded) {
+        int restored = 0;
+        int examined = 0;
+
+        while (!sections.isEmpty() && restored < maxBlocks) {
+            long sectionKey = sections.firstLongKey();
+            SectionBatch batch = sections.get(sectionKey);
+
+            if (!level.hasChunk(SectionPos.x(sectionKey), SectionPos.z(sectionKey))) {
+                for (int i = batch.cursor; i < batch.positions.size(); i++) {
+                    unloaded.accept(batch.positions.getLong(i), batch.states.getInt(i), 0);
+                }
+                size -= batch.remaining();
+                sections.removeFirst();
+                unindexSection(sectionKey);
+                continue;
+            }
+
+            while (batch.cursor < batch.positions.size() && restored < maxBlocks) {
+                if (examined % TIME_CHECK_INTERVAL == 0 && examined > 0 && System.nanoTime() > deadlineNanos) {
+                    return restored;
+                }
+
+                long pos = batch.positions.getLong(batch.cursor);
+                int stateId = batch.states.getInt(batch.cursor);
+                batch.cursor++;
+                size--;
+                examined++;
+
+                cursorPos.set(pos);
+                BlockState currentState = level.getBlockState(cursorPos);
+
+                // Only repair if still air (don't replace player-placed blocks)
+                if (currentState.isAir()) {
+                    level.setBlock(cursorPos, Block.stateById(stateId), RESTORE_FLAGS);
+                    restored++;
+                }
+            }
+
+            if (batch.remaining() == 0) {
+                sections.removeFirst();
+                unindexSection(sectionKey);
+            }
+        }
+        return restored;
+    }
+
+    /**
+     * Move every queued repair into the given lists, emptying the queue
+     */
+    public void drainAll(LongArrayList positions, IntArrayList states) {
+        for (SectionBatch batch : sections.values()) {
+            for (int i = batch.cursor; i < batch.positions.size(); i++) {
+                positions.add(batch.positions.getLong(i));
+                states.add(batch.states.getInt(i));
+            }
+        }
+        clear();
+    }
+
+    /**
+     * Visit every queued repair
+     */
+    public void forEach(GlassRecordConsumer consumer) {
+        for (SectionBatch batch : sections.values()) {
+            for (int i = batch.cursor; i < batch.positions.size(); i++) {
+                consumer.accept(batch.positions.getLong(i), batch.states.getInt(i), 0);
+            }
+        }
+    }
+
+    /**
+     * Remove every queued repair inside a chunk, passing each one to the consumer first
+     */
+    public void removeChunk(long chunkKey, GlassRecordConsumer consumer) {
+        LongArrayList inChunk = chunkSections.remove(chunkKey);
+        if (inChunk == null) return;
+
+        for (int s = 0; s < inChunk.size(); s++) {
+            SectionBatch batch = sections.remove(inChunk.getLong(s));
+            for (int i = batch.cursor; i < batch.positions.size(); i++) {
+                consumer.accept(batch.positions.getLong(i), batch.states.getInt(i), 0);
+            }
+            size -= batch.remaining();
+        }
+    }
+
+    /**
+     * Whether any repair is queued inside a chunk
+     */
+    public boolean hasChunk(long chunkKey) {
+        return chunkSections.containsKey(chunkKey);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        sections.clear();
+        chunkSections.clear();
+        size = 0;
+    }
+
+    private void unindexSection(long sectionKey) {
+        long chunkKey = ChunkPos.asLong(SectionPos.x(sectionKey), SectionPos.z(sectionKey));
+        LongArrayList inChunk = chunkSections.get(chunkKey);
+        if (inChunk != null && inChunk.rem(sectionKey) && inChunk.isEmpty()) {
+            chunkSections.remove(chunkKey);
+        }
+    }
+}
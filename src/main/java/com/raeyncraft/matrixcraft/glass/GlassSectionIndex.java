@@ -0,0 +1,240 @@
+package com.raeyncraft.matrixcraft.glass;
+
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntMaps;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongIntConsumer;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+
+/**
+ * Per-level index of glass blocks, bucketed by chunk section.
+ *
+ * A chunk is indexed once when it loads: sections whose palette cannot contain glass
+ * are skipped without touching a single block, the rest are walked once. After that the
+ * index is kept current from block change events, so no periodic scanning is needed.
+ *
+ * Positions are packed with BlockPos.asLong() and states are stored as block-state
+ * registry ids in open-addressing maps, so entries cost no objects and probing never allocates.
+ * Each chunk's section keys are kept alongside, so per-chunk work never walks the whole index.
+ */
+public class GlassSectionIndex {
+
+    /** Returned by {@link #getStateId} when a position is not indexed */
+    public static final int NONE = -1;
+
+    // Section key (SectionPos.asLong) -> packed position -> block state id
+    private final Long2ObjectOpenHashMap<Long2IntOpenHashMap> sections = new Long2ObjectOpenHashMap<>();
+    // Chunk (ChunkPos.toLong) -> keys of its sections holding indexed glass
+    private final Long2ObjectOpenHashMap<LongArrayList> chunkSections = new Long2ObjectOpenHashMap<>();
+    // Chunks that have been indexed (ChunkPos.toLong)
+    private final LongOpenHashSet indexedChunks = new LongOpenHashSet();
+    private int size = 0;
+    // Blocks read by the most recent indexChunk call
+    private int lastBlocksExamined = 0;
+
+    /**
+     * Index every glass block in a freshly loaded chunk.
+     * Only sections intersecting a protected region are walked, and only glass inside a region is kept.
+     * @return number of glass blocks found
+     */
+    public int indexChunk(LevelChunk chunk, GlassRegionSet regions) {
+        ChunkPos chunkPos = chunk.getPos();
+        dropChunk(chunkPos);
+        indexedChunks.add(chunkPos.toLong());
+
+        int found = 0;
+        lastBlocksExamined = 0;
+        LevelChunkSection[] chunkSections = chunk.getSections();
+        for (int i = 0; i < chunkSections.length; i++) {
+            LevelChunkSection section = chunkSections[i];
+            if (section == null || section.hasOnlyAir()) continue;
+
+            int sectionY = chunk.getSectionYFromSectionIndex(i);
+            if (!regions.coversSection(chunkPos.x, sectionY, chunkPos.z)) continue;
+
+            // Palette check - skip sections that cannot contain any glass state
+            if (!section.maybeHas(GlassRepairSystem::isGlass)) continue;
+
+            lastBlocksExamined += LevelChunkSection.SECTION_SIZE;
+            int baseX = chunkPos.getMinBlockX();
+            int baseY = SectionPos.sectionToBlockCoord(sectionY);
+            int baseZ = chunkPos.getMinBlockZ();
+
+            for (int y = 0; y < 16; y++) {
+                for (int z = 0; z < 16; z++) {
+                    for (int x = 0; x < 16; x++) {
+                        BlockState state = section.getBlockState(x, y, z);
+                        if (GlassRepairSystem.isGlass(state) && regions.covers(baseX + x, baseY + y, baseZ + z)) {
+                            put(BlockPos.asLong(baseX + x, baseY + y, baseZ + z), Block.getId(state));
+                            found++;
+                        }
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    public int getLastBlocksExamined() {
+        return lastBlocksExamined;
+    }
+
+    /**
+     * Forget everything indexed for a chunk (called when the chunk unloads)
+     */
+    public void dropChunk(ChunkPos chunkPos) {
+        long chunkKey = chunkPos.toLong();
+        if (!indexedChunks.remove(chunkKey)) return;
+
+        LongArrayList keys = chunkSections.remove(chunkKey);
+        if (keys == null) return;
+        for (int i = 0; i < keys.size(); i++) {
+            Long2IntOpenHashMap section = sections.remove(keys.getLong(i));
+            if (section != null) {
+                size -= section.size();
+            }
+        }
+    }
+
+    /**
+     * Mark a chunk as indexed without scanning it (entries restored from saved data)
+     */
+    public void markChunkIndexed(long chunkKey) {
+        indexedChunks.add(chunkKey);
+    }
+
+    /**
+     * Visit every indexed glass block in a chunk
+     */
+    public void forEachInChunk(long chunkKey, LongIntConsumer consumer) {
+        LongArrayList keys = chunkSections.get(chunkKey);
+        if (keys == null) return;
+        for (int i = 0; i < keys.size(); i++) {
+            Long2IntOpenHashMap section = sections.get(keys.getLong(i));
+            if (section == null) continue;
+            for (Long2IntMap.Entry glass : Long2IntMaps.fastIterable(section)) {
+                consumer.accept(glass.getLongKey(), glass.getIntValue());
+            }
+        }
+    }
+
+    /**
+     * Visit every indexed glass block
+     */
+    public void forEach(LongIntConsumer consumer) {
+        for (Long2IntOpenHashMap section : sections.values()) {
+            for (Long2IntMap.Entry glass : Long2IntMaps.fastIterable(section)) {
+                consumer.accept(glass.getLongKey(), glass.getIntValue());
+            }
+        }
+    }
+
+    /**
+     * Append the key of every section holding indexed glass
+     */
+    public void collectSectionKeys(LongArrayList out) {
+        LongIterator keys = sections.keySet().iterator();
+        while (keys.hasNext()) {
+            out.add(keys.nextLong());
+        }
+    }
+
+    /**
+     * @return a private copy of one section's entries, or null if it holds no indexed glass
+     */
+    public Long2IntOpenHashMap copySection(long sectionKey) {
+        Long2IntOpenHashMap section = sections.get(sectionKey);
+        return section == null ? null : section.clone();
+    }
+
+    public boolean isChunkIndexed(long chunkKey) {
+        return indexedChunks.contains(chunkKey);
+    }
+
+    public LongSet getIndexedChunks() {
+        return indexedChunks;
+    }
+
+    public void put(long pos, int stateId) {
+        long key = SectionPos.blockToSection(pos);
+        Long2IntOpenHashMap section = sections.get(key);
+        if (section == null) {
+            section = new Long2IntOpenHashMap();
+            section.defaultReturnValue(NONE);
+            sections.put(key, section);
+            long chunkKey = chunkKeyOf(key);
+            LongArrayList keys = chunkSections.get(chunkKey);
+            if (keys == null) {
+                keys = new LongArrayList();
+                chunkSections.put(chunkKey, keys);
+            }
+            keys.add(key);
+        }
+        if (section.put(pos, stateId) == NONE) {
+            size++;
+        }
+    }
+
+    public int getStateId(long pos) {
+        Long2IntOpenHashMap section = sections.get(SectionPos.blockToSection(pos));
+        return section == null ? NONE : section.get(pos);
+    }
+
+    public boolean contains(long pos) {
+        return getStateId(pos) != NONE;
+    }
+
+    /**
+     * @return the removed state id, or {@link #NONE}
+     */
+    public int remove(long pos) {
+        long key = SectionPos.blockToSection(pos);
+        Long2IntOpenHashMap section = sections.get(key);
+        if (section == null) return NONE;
+
+        int removed = section.remove(pos);
+        if (removed != NONE) {
+            size--;
+            if (section.isEmpty()) {
+                sections.remove(key);
+                long chunkKey = chunkKeyOf(key);
+                LongArrayList keys = chunkSections.get(chunkKey);
+                if (keys != null) {
+                    keys.rem(key);
+                    if (keys.isEmpty()) chunkSections.remove(chunkKey);
+                }
+            }
+        }
+        return removed;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int sectionCount() {
+        return sections.size();
+    }
+
+    private static long chunkKeyOf(long sectionKey) {
+        return ChunkPos.asLong(SectionPos.x(sectionKey), SectionPos.z(sectionKey));
+    }
+
+    public void clear() {
+        sections.clear();
+        chunkSections.clear();
+        indexedChunks.clear();
+        size = 0;
+    }
+}
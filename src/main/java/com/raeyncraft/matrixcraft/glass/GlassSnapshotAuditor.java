@@ -0,0 +1,152 @@
+package com.raeyncraft.matrixcraft.glass;
+
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntMaps;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.Util;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.PalettedContainer;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+
+/**
+ * Safety net for glass changes that never pass through LevelChunk.setBlockState
+ * (direct section writes by other mods, world editors and the like).
+ *
+ * Every audit pass copies the block-state container of each section holding tracked glass
+ * on the server thread - a palette and a packed long array, no per-block work - and hands
+ * the copy to the background worker pool together with a copy of the section's index entries.
+ * The worker diffs the two and posts back only the positions that no longer match. The server
+ * thread then re-checks just those positions, so the audit costs nothing per block on the tick.
+ */
+public class GlassSnapshotAuditor {
+
+    // Changed positions per audited section, posted by workers
+    private final ConcurrentLinkedQueue<long[]> changes = new ConcurrentLinkedQueue<>();
+    // Snapshots submitted but not yet diffed
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    // Sections of the current pass and how far through them we are
+    private final LongArrayList passSections = new LongArrayList();
+    private int cursor = 0;
+    private int ticksUntilPass = 0;
+
+    /**
+     * Snapshot the next few sections of the current pass, starting a new pass when the
+     * interval has elapsed and the previous one has been fully diffed.
+     * @return number of sections snapshotted
+     */
+    public int tick(ServerLevel level, GlassSectionIndex index, int intervalTicks, int sectionsPerTick) {
+        if (cursor >= passSections.size()) {
+            if (inFlight.get() > 0) return 0;
+            if (--ticksUntilPass > 0) return 0;
+
+            ticksUntilPass = intervalTicks;
+            passSections.clear();
+            cursor = 0;
+            index.collectSectionKeys(passSections);
+        }
+
+        int start = cursor;
+        int end = Math.min(passSections.size(), cursor + sectionsPerTick);
+        while (cursor < end) {
+            snapshot(level, index, passSections.getLong(cursor++));
+        }
+        return end - start;
+    }
+
+    /**
+     * Hand every position reported as changed since the last call to the consumer.
+     * Reports may be stale by a few ticks, so the consumer must re-check the world.
+     */
+    public void drainChanges(LongConsumer consumer) {
+        long[] batch;
+        while ((batch = changes.poll()) != null) {
+            for (long pos : batch) {
+                consumer.accept(pos);
+            }
+        }
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void snapshot(ServerLevel level, GlassSectionIndex index, long sectionKey) {
+        int sectionX = SectionPos.x(sectionKey);
+        int sectionZ = SectionPos.z(sectionKey);
+        if (!index.isChunkIndexed(ChunkPos.asLong(sectionX, sectionZ))) return;
+
+        LevelChunk chunk = level.getChunkSource().getChunkNow(sectionX, sectionZ);
+        if (chunk == null) return;
+
+        int sectionIndex = chunk.getSectionIndexFromSectionY(SectionPos.y(sectionKey));
+        if (sectionIndex < 0 || sectionIndex >= chunk.getSectionsCount()) return;
+
+        Long2IntOpenHashMap expected = index.copySection(sectionKey);
+        if (expected == null) return;
+        PalettedContainer<BlockState> states = chunk.getSection(sectionIndex).getStates().copy();
+
+        inFlight.incrementAndGet();
+        try {
+            Util.backgroundExecutor().execute(() -> {
+                try {
+                    diff(sectionKey, states, expected);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Server shutting down
+            inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * Runs on a worker thread: compare a section copy against the index entries it was taken with
+     */
+    private void diff(long sectionKey, PalettedContainer<BlockState> states, Long2IntOpenHashMap expected) {
+        LongArrayList changed = null;
+
+        for (Long2IntMap.Entry entry : Long2IntMaps.fastIterable(expected)) {
+            long pos = entry.getLongKey();
+            BlockState found = states.get(BlockPos.getX(pos) & 15, BlockPos.getY(pos) & 15, BlockPos.getZ(pos) & 15);
+            if (Block.getId(found) != entry.getIntValue()) {
+                if (changed == null) changed = new LongArrayList();
+                changed.add(pos);
+            }
+        }
+
+        // Glass that appeared without a block update
+        if (states.maybeHas(GlassRepairSystem::isGlass)) {
+            int baseX = SectionPos.sectionToBlockCoord(SectionPos.x(sectionKey));
+            int baseY = SectionPos.sectionToBlockCoord(SectionPos.y(sectionKey));
+            int baseZ = SectionPos.sectionToBlockCoord(SectionPos.z(sectionKey));
+            for (int y = 0; y < 16; y++) {
+                for (int z = 0; z < 16; z++) {
+                    for (int x = 0; x < 16; x++) {
+                        if (!GlassRepairSystem.isGlass(states.get(x, y, z))) continue;
+                        long pos = BlockPos.asLong(baseX + x, baseY + y, baseZ + z);
+                        if (expected.containsKey(pos)) continue;
+                        if (changed == null) changed = new LongArrayList();
+                        changed.add(pos);
+                    }
+                }
+            }
+        }
+
+        if (changed != null) {
+            changes.add(changed.toLongArray());
+        }
+    }
+}
@@ -1,18 +1,25 @@
 package com.raeyncraft.matrixcraft.item;
 
+import com.raeyncraft.matrixcraft.MatrixCraftConfig;
 import com.raeyncraft.matrixcraft.MatrixCraftMod;
+import com.raeyncraft.matrixcraft.log.EventCategory;
+import com.raeyncraft.matrixcraft.log.EventLog;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.Mth;
 import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.entity.Mob;
+import net.minecraft.world.entity.MobSpawnType;
 import net.minecraft.world.entity.monster.Phantom;
 import net.minecraft.world.entity.player.Player;
-import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.entity.EntityTypeTest;
 import net.neoforged.bus.api.EventPriority;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.fml.common.EventBusSubscriber;
 import net.neoforged.neoforge.event.entity.EntityJoinLevelEvent;
-import net.neoforged.neoforge.event.level.BlockEvent;
+import net.neoforged.neoforge.event.entity.living.MobSpawnEvent;
 import net.neoforged.neoforge.event.level.LevelEvent;
 import net.neoforged.neoforge.event.tick.ServerTickEvent;
 
@@ -27,104 +34,206 @@ import java.util.concurrent.ConcurrentHashMap;
  * 
  * Special handling for flying mobs like Phantoms - uses extended vertical range
  * and also removes them if they enter the zone after spawning.
+ * 
+ * Zones are indexed per level in a SuppressionZoneGrid, so a lookup only tests
+ * the zones overlapping the queried chunk column. Natural and spawner spawns are
+ * rejected at the spawn placement / position checks, before the mob is built or
+ * finalized, and EntityJoinLevelEvent remains as the catch-all.
+ * 
+ * Zones are registered by SafeHavenObeliskBlockEntity, so a zone is active exactly
+ * while its obelisk exists in a loaded chunk.
  */
 @EventBusSubscriber(modid = MatrixCraftMod.MODID)
 public class MobSuppressionSystem {
     
-    // Map of level -> (position -> radius)
-    private static final Map<ServerLevel, Map<BlockPos, Integer>> suppressors = new ConcurrentHashMap<>();
-    
-    // Cache for quick lookups
-    private static final Map<ServerLevel, Set<BlockPos>> allSuppressorPositions = new ConcurrentHashMap<>();
+    // Map of level -> zone index (concurrent: worldgen spawn checks read it from worker threads)
+    private static final Map<ServerLevel, SuppressionZoneGrid> zoneGrids = new ConcurrentHashMap<>();
+    // Map of level -> recent per-section spawn decisions
+    private static final Map<ServerLevel, SuppressionDecisionCache> decisionCaches = new HashMap<>();
     
-    // Extended vertical range for flying mobs (phantoms spawn high up)
-    private static final int VERTICAL_EXTENSION = 128;
+    // Entity query filter for zone sweeps (players are not Mobs)
+    private static final EntityTypeTest<Entity, Mob> MOB_TEST = EntityTypeTest.forClass(Mob.class);
+    // Map of level -> round-robin zone sweep state
+    private static final Map<ServerLevel, SuppressionSweepScheduler> sweepSchedulers = new HashMap<>();
+    // Every zone is swept at most once per this many ticks
+    private static final int SWEEP_CYCLE_TICKS = 20;
+    // Scratch list reused by zone sweeps
+    private static final List<Mob> sweepScratch = new ArrayList<>();
     
     /**
-     * Add a suppressor at the given position
+     * Add a suppressor at the given position (called by the obelisk block entity)
      */
     public static void addSuppressor(ServerLevel level, BlockPos pos, int radius) {
-        suppressors.computeIfAbsent(level, k -> new ConcurrentHashMap<>()).put(pos.immutable(), radius);
-        allSuppressorPositions.computeIfAbsent(level, k -> ConcurrentHashMap.newKeySet()).add(pos.immutable());
+        addSuppressor(level, new SuppressionZone(pos, radius));
+    }
+    
+    /**
+     * Add (or replace) a suppressor with compiled shape and filter settings
+     */
+    public static void addSuppressor(ServerLevel level, SuppressionZone zone) {
+        getOrCreateGrid(level).add(zone);
         
-        MatrixCraftMod.LOGGER.info("[MobSuppression] Added suppressor at " + pos + " with radius " + radius);
+        if (EventLog.isEnabled(EventCategory.SUPPRESSION)) {
+            EventLog.log(EventCategory.SUPPRESSION, "Added suppressor at {} ({})", zone.pos, zone.describe());
+        }
     }
     
     /**
      * Remove a suppressor at the given position
      */
     public static void removeSuppressor(ServerLevel level, BlockPos pos) {
-        Map<BlockPos, Integer> levelSuppressors = suppressors.get(level);
-        if (levelSuppressors != null) {
-            levelSuppressors.remove(pos);
+        SuppressionZoneGrid grid = zoneGrids.get(level);
+        if (grid != null) {
+            grid.remove(pos);
         }
         
-        Set<BlockPos> positions = allSuppressorPositions.get(level);
-        if (positions != null) {
-            positions.remove(pos);
+        if (EventLog.isEnabled(EventCategory.SUPPRESSION)) {
+            EventLog.log(EventCategory.SUPPRESSION, "Removed suppressor at {}", pos);
         }
-        
-        MatrixCraftMod.LOGGER.info("[MobSuppression] Removed suppressor at " + pos);
+    }
+    
+    private static SuppressionZoneGrid getOrCreateGrid(ServerLevel level) {
+        return zoneGrids.computeIfAbsent(level, k -> new SuppressionZoneGrid());
     }
     
     /**
-     * Check if a position is within any suppression zone
-     * Uses cylinder check - extended vertical range for flying mobs
+     * Check if a position is within any suppression zone, regardless of zone filters
      */
     public static boolean isInSuppressionZone(ServerLevel level, BlockPos pos) {
         return isInSuppressionZone(level, pos, false);
     }
     
     /**
-     * Check if a position is within any suppression zone
+     * Check if a position is within any suppression zone, regardless of zone filters
      * @param extendedVertical if true, uses extended vertical range for flying mobs
      */
     public static boolean isInSuppressionZone(ServerLevel level, BlockPos pos, boolean extendedVertical) {
-        Map<BlockPos, Integer> levelSuppressors = suppressors.get(level);
-        if (levelSuppressors == null || levelSuppressors.isEmpty()) {
+        SuppressionZoneGrid grid = zoneGrids.get(level);
+        if (grid == null || grid.isEmpty()) {
             return false;
         }
-        
-        for (Map.Entry<BlockPos, Integer> entry : levelSuppressors.entrySet()) {
-            BlockPos suppressorPos = entry.getKey();
-            int radius = entry.getValue();
-            
-            // Check horizontal distance (XZ plane)
-            double dx = pos.getX() - suppressorPos.getX();
-            double dz = pos.getZ() - suppressorPos.getZ();
-            double horizontalDistSq = dx * dx + dz * dz;
-            
-            if (horizontalDistSq <= radius * radius) {
-                // Check vertical distance
-                int verticalRange = extendedVertical ? VERTICAL_EXTENSION : radius;
-                int dy = Math.abs(pos.getY() - suppressorPos.getY());
-                
-                if (dy <= verticalRange) {
-                    return true;
-                }
-            }
-        }
-        
-        return false;
+        return grid.find(pos.getX(), pos.getY(), pos.getZ(), extendedVertical) != null;
     }
     
     /**
-     * Get all active suppressors in a level
+     * Get all active suppression zones in a level
      */
-    public static Map<BlockPos, Integer> getSuppressors(ServerLevel level) {
-        return suppressors.getOrDefault(level, Collections.emptyMap());
+    public static Collection<SuppressionZone> getZones(ServerLevel level) {
+        SuppressionZoneGrid grid = zoneGrids.get(level);
+        return grid == null ? Collections.emptyList() : grid.getZones();
     }
     
     /**
      * Get count of active suppressors
      */
     public static int getSuppressorCount(ServerLevel level) {
-        Map<BlockPos, Integer> levelSuppressors = suppressors.get(level);
-        return levelSuppressors == null ? 0 : levelSuppressors.size();
+        SuppressionZoneGrid grid = zoneGrids.get(level);
+        return grid == null ? 0 : grid.size();
+    }
+    
+    /**
+     * Get the spawn decision cache of a level, or null if none has been used yet
+     */
+    public static SuppressionDecisionCache getDecisionCache(ServerLevel level) {
+        return decisionCaches.get(level);
+    }
+    
+    /**
+     * Whether a spawn is suppressed. Worldgen spawns (CHUNK_GENERATION) are checked on
+     * worldgen worker threads, so off the server thread only the grid is read - the
+     * decision cache and metrics are not thread-safe and are left alone.
+     */
+    private static boolean isSpawnSuppressed(ServerLevel level, SuppressionZoneGrid grid, int x, int y, int z,
+                                             boolean isFlying, EntityType<?> type, MobSpawnType reason) {
+        if (reason == MobSpawnType.CHUNK_GENERATION || !level.getServer().isSameThread()) {
+            return grid.find(x, y, z, isFlying, type, reason) != null;
+        }
+        return checkSpawn(level, grid, x, y, z, isFlying, type, reason) != null;
+    }
+    
+    /**
+     * Check a spawn against the zones, recording the lookup time and the zone that blocked it
+     * @return the zone suppressing the spawn, or null if it is allowed
+     */
+    private static SuppressionZone checkSpawn(ServerLevel level, SuppressionZoneGrid grid, int x, int y, int z,
+                                              boolean isFlying, EntityType<?> type, MobSpawnType reason) {
+        long start = System.nanoTime();
+        SuppressionZone zone = findSuppressingZone(level, grid, x, y, z, isFlying, type, reason);
+        SuppressionMetrics.recordLookup(level, System.nanoTime() - start);
+        if (zone != null) {
+            SuppressionMetrics.recordBlocked(level, zone);
+        }
+        return zone;
+    }
+    
+    /**
+     * Sections that are wholly inside or outside the applicable zones are answered from
+     * the decision cache; mixed sections fall through to the per-position zone test.
+     */
+    private static SuppressionZone findSuppressingZone(ServerLevel level, SuppressionZoneGrid grid, int x, int y, int z,
+                                                       boolean isFlying, EntityType<?> type, MobSpawnType reason) {
+        if (grid.getCoverage(x >> 4, z >> 4) == SuppressionZoneGrid.Coverage.NONE) return null;
+        
+        int capacity = MatrixCraftConfig.getSuppressionDecisionCacheSize();
+        if (capacity <= 0) {
+            return grid.find(x, y, z, isFlying, type, reason);
+        }
+        
+        SuppressionDecisionCache cache = decisionCaches.computeIfAbsent(level, k -> new SuppressionDecisionCache());
+        long section = SectionPos.asLong(x >> 4, y >> 4, z >> 4);
+        SuppressionZoneGrid.SectionResult result = cache.get(grid.getVersion(), section, type, isFlying, reason);
+        if (result == null) {
+            result = grid.classifySection(x >> 4, y >> 4, z >> 4, isFlying, type, reason);
+            cache.put(section, type, isFlying, reason, result, capacity);
+        }
+        
+        return switch (result.decision) {
+            case SUPPRESS -> result.zone;
+            case ALLOW -> null;
+            case MIXED -> grid.find(x, y, z, isFlying, type, reason);
+        };
     }
     
     // ==================== EVENT HANDLERS ====================
     
+    /**
+     * Reject spawns in suppression zones before the mob is constructed.
+     * Chunks no zone touches return after a single cell lookup.
+     */
+    @SubscribeEvent
+    public static void onSpawnPlacementCheck(MobSpawnEvent.SpawnPlacementCheck event) {
+        SuppressionZoneGrid grid = zoneGrids.get(event.getLevel().getLevel());
+        if (grid == null) return;
+        
+        BlockPos pos = event.getPos();
+        if (grid.getCoverage(pos.getX() >> 4, pos.getZ() >> 4) == SuppressionZoneGrid.Coverage.NONE) return;
+        
+        boolean isFlying = event.getEntityType() == EntityType.PHANTOM;
+        if (isSpawnSuppressed(event.getLevel().getLevel(), grid, pos.getX(), pos.getY(), pos.getZ(), isFlying, event.getEntityType(), event.getSpawnType())) {
+            event.setResult(MobSpawnEvent.SpawnPlacementCheck.Result.FAIL);
+        }
+    }
+    
+    /**
+     * Reject spawns that skip placement rules (spawners, patrols, reinforcements)
+     * before the mob is finalized and added to the level.
+     */
+    @SubscribeEvent
+    public static void onPositionCheck(MobSpawnEvent.PositionCheck event) {
+        SuppressionZoneGrid grid = zoneGrids.get(event.getLevel().getLevel());
+        if (grid == null) return;
+        
+        int x = Mth.floor(event.getX());
+        int z = Mth.floor(event.getZ());
+        if (grid.getCoverage(x >> 4, z >> 4) == SuppressionZoneGrid.Coverage.NONE) return;
+        
+        Mob mob = event.getEntity();
+        boolean isFlying = mob instanceof Phantom;
+        if (isSpawnSuppressed(event.getLevel().getLevel(), grid, x, Mth.floor(event.getY()), z, isFlying, mob.getType(), event.getSpawnType())) {
+            event.setResult(MobSpawnEvent.PositionCheck.Result.FAIL);
+        }
+    }
+    
     /**
      * Prevent mobs from joining the world in suppression zones
      * This catches all mob spawns including natural, spawner, and command spawns
@@ -140,7 +249,10 @@ public class MobSuppressionSystem {
         if (entity instanceof Player) return;
         
         // Only block mobs
-        if (!(entity instanceof Mob)) return;
+        if (!(entity instanceof Mob mob)) return;
+        
+        SuppressionZoneGrid grid = zoneGrids.get(serverLevel);
+        if (grid == null || grid.isEmpty()) return;
         
         // Check if in suppression zone
         BlockPos spawnPos = entity.blockPosition();
@@ -148,32 +260,11 @@ public class MobSuppressionSystem {
         // For flying mobs (phantoms), use extended vertical check
         boolean isFlying = entity instanceof Phantom;
         
-        if (isInSuppressionZone(serverLevel, spawnPos, isFlying)) {
+        if (isSpawnSuppressed(serverLevel, grid, spawnPos.getX(), spawnPos.getY(), spawnPos.getZ(), isFlying, mob.getType(), mob.getSpawnType())) {
             // Cancel the spawn
             event.setCanceled(true);
-            MatrixCraftMod.LOGGER.debug("[MobSuppression] Blocked spawn of " + 
-                entity.getType().getDescriptionId() + " at " + spawnPos);
-        }
-    }
-    
-    /**
-     * Remove suppressor when the lodestone is broken
-     */
-    @SubscribeEvent
-    public static void onBlockBreak(BlockEvent.BreakEvent event) {
-        if (!(event.getLevel() instanceof ServerLevel serverLevel)) return;
-        
-        BlockPos pos = event.getPos();
-        
-        // Check if this is a suppressor location
-        Set<BlockPos> positions = allSuppressorPositions.get(serverLevel);
-        if (positions != null && positions.contains(pos)) {
-            removeSuppressor(serverLevel, pos);
-            
-            if (event.getPlayer() != null) {
-                event.getPlayer().displayClientMessage(
-                    net.minecraft.network.chat.Component.literal("Safe Haven deactivated.")
-                        .withStyle(net.minecraft.ChatFormatting.DARK_RED), true);
+            if (EventLog.isEnabled(EventCategory.SUPPRESSION)) {
+                EventLog.log(EventCategory.SUPPRESSION, "Blocked spawn of {} at {}", entity.getType(), spawnPos);
             }
         }
     }
@@ -184,87 +275,52 @@ public class MobSuppressionSystem {
     @SubscribeEvent
     public static void onLevelUnload(LevelEvent.Unload event) {
         if (event.getLevel() instanceof ServerLevel serverLevel) {
-            suppressors.remove(serverLevel);
-            allSuppressorPositions.remove(serverLevel);
+            zoneGrids.remove(serverLevel);
+            decisionCaches.remove(serverLevel);
+            sweepSchedulers.remove(serverLevel);
         }
     }
     
     /**
-     * Periodically:
-     * 1. Validate suppressors (check if lodestone still exists)
-     * 2. Remove any flying mobs that entered the zone after spawning
+     * Remove mobs that entered a zone after spawning, a slice of zones per tick
      */
     @SubscribeEvent
     public static void onServerTick(ServerTickEvent.Post event) {
-        int tick = event.getServer().getTickCount();
+        long tick = event.getServer().getTickCount();
+        long budget = MatrixCraftConfig.getSuppressionSweepBudgetNanos();
         
-        // Every 20 ticks (1 second): Remove flying mobs in zones
-        if (tick % 20 == 0) {
-            removeFlyingMobsInZones(event);
-        }
-        
-        // Every 100 ticks (5 seconds): Validate suppressors
-        if (tick % 100 == 0) {
-            validateSuppressors(event);
-        }
-    }
-    
-    /**
-     * Remove flying mobs (like phantoms) that entered suppression zones
-     */
-    private static void removeFlyingMobsInZones(ServerTickEvent.Post event) {
         for (ServerLevel level : event.getServer().getAllLevels()) {
-            Map<BlockPos, Integer> levelSuppressors = suppressors.get(level);
-            if (levelSuppressors == null || levelSuppressors.isEmpty()) continue;
-            
-            // Find all mobs in suppression zones
-            List<Mob> toRemove = new ArrayList<>();
+            SuppressionZoneGrid grid = zoneGrids.get(level);
+            if (grid == null || grid.isEmpty()) continue;
             
-            for (Entity entity : level.getAllEntities()) {
-                if (!(entity instanceof Mob mob)) continue;
-                if (entity instanceof Player) continue;
-                
-                // Check if this mob is in a suppression zone
-                boolean isFlying = entity instanceof Phantom;
-                if (isInSuppressionZone(level, entity.blockPosition(), isFlying)) {
-                    toRemove.add(mob);
-                }
-            }
-            
-            // Remove the mobs
-            for (Mob mob : toRemove) {
-                mob.discard();
-                MatrixCraftMod.LOGGER.debug("[MobSuppression] Removed " + 
-                    mob.getType().getDescriptionId() + " from suppression zone");
-            }
+            SuppressionSweepScheduler scheduler = sweepSchedulers.computeIfAbsent(level,
+                k -> new SuppressionSweepScheduler(SWEEP_CYCLE_TICKS));
+            budget -= scheduler.tick(level, grid, tick, budget, MobSuppressionSystem::sweepZone);
         }
     }
     
     /**
-     * Validate that all suppressor lodestones still exist
+     * Remove the mobs inside one zone (flying mobs like phantoms get the extended vertical range).
+     * Only the entity sections inside the zone's bounds are visited, so the cost
+     * follows the protected area rather than the level's entity count.
      */
-    private static void validateSuppressors(ServerTickEvent.Post event) {
-        for (ServerLevel level : event.getServer().getAllLevels()) {
-            Map<BlockPos, Integer> levelSuppressors = suppressors.get(level);
-            if (levelSuppressors == null || levelSuppressors.isEmpty()) continue;
-            
-            // Check each suppressor
-            List<BlockPos> toRemove = new ArrayList<>();
-            for (BlockPos pos : levelSuppressors.keySet()) {
-                // If the chunk isn't loaded, skip
-                if (!level.isLoaded(pos)) continue;
-                
-                // Check if lodestone still exists
-                if (!level.getBlockState(pos).is(Blocks.LODESTONE)) {
-                    toRemove.add(pos);
-                }
-            }
-            
-            // Remove invalid suppressors
-            for (BlockPos pos : toRemove) {
-                removeSuppressor(level, pos);
-                MatrixCraftMod.LOGGER.info("[MobSuppression] Auto-removed suppressor at " + pos + " (lodestone missing)");
+    private static void sweepZone(ServerLevel level, SuppressionZone zone) {
+        sweepScratch.clear();
+        level.getEntities(MOB_TEST, zone.sweepBounds, mob -> {
+            BlockPos pos = mob.blockPosition();
+            return zone.contains(pos.getX(), pos.getY(), pos.getZ(), mob instanceof Phantom)
+                && zone.matches(mob.getType(), mob.getSpawnType());
+        }, sweepScratch);
+        
+        for (int i = 0; i < sweepScratch.size(); i++) {
+            Mob mob = sweepScratch.get(i);
+            if (mob.isRemoved()) continue;
+            mob.discard();
+            SuppressionMetrics.recordDiscarded(level, zone);
+            if (EventLog.isEnabled(EventCategory.SUPPRESSION)) {
+                EventLog.log(EventCategory.SUPPRESSION, "Removed {} from suppression zone", mob.getType());
             }
         }
+        sweepScratch.clear();
     }
 }
@@ -0,0 +1,39 @@
+package com.raeyncraft.matrixcraft.item;
+
+import net.minecraft.ChatFormatting;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.chat.Component;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.EntityBlock;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+
+/**
+ * Safe Haven Obelisk block.
+ * 
+ * The suppression zone lives in the attached SafeHavenObeliskBlockEntity, which
+ * registers it while loaded and unregisters it when removed or unloaded.
+ */
+public class SafeHavenObeliskBlock extends Block implements EntityBlock {
+    
+    public SafeHavenObeliskBlock(Properties properties) {
+        super(properties);
+    }
+    
+    @Override
+    public BlockEntity newBlockEntity(BlockPos pos, BlockState state) {
+        return new SafeHavenObeliskBlockEntity(pos, state);
+    }
+    
+    @Override
+    public BlockState playerWillDestroy(Level level, BlockPos pos, BlockState state, Player player) {
+        if (!level.isClientSide) {
+            player.displayClientMessage(
+                Component.literal("Safe Haven deactivated.")
+                    .withStyle(ChatFormatting.DARK_RED), true);
+        }
+        return super.playerWillDestroy(level, pos, state, player);
+    }
+}
@@ -0,0 +1,138 @@
+package com.raeyncraft.matrixcraft.item;
+
+import com.raeyncraft.matrixcraft.registry.ModBlockEntities;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.HolderLookup;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+
+/**
+ * Owns an obelisk's suppression zone.
+ * 
+ * onLoad runs when the block is placed and whenever its chunk loads; setRemoved runs
+ * when the block is broken and whenever its chunk unloads. The zone is therefore only
+ * registered while the obelisk actually exists in a loaded chunk.
+ * 
+ * Shape and filter settings are read from the block entity's tag ("shape", "radius",
+ * "height", "flying_height", "categories", "reasons", "entity_tag") and compiled into a
+ * SuppressionZone once per load, so editing them with /data re-registers the zone.
+ * /matrix suppression set changes them through the setters below, which do the same.
+ */
+public class SafeHavenObeliskBlockEntity extends BlockEntity {
+    
+    private SuppressionShape shape = SuppressionShape.CYLINDER;
+    private int radius = SafeHavenObeliskItem.PROTECTION_RADIUS;
+    private int height = SafeHavenObeliskItem.PROTECTION_RADIUS;
+    private int flyingHeight = SuppressionZone.VERTICAL_EXTENSION;
+    private SuppressionFilter filter = SuppressionFilter.ALL;
+    
+    public SafeHavenObeliskBlockEntity(BlockPos pos, BlockState state) {
+        super(ModBlockEntities.SAFE_HAVEN_OBELISK.get(), pos, state);
+    }
+    
+    public SuppressionShape getShape() {
+        return shape;
+    }
+    
+    public int getRadius() {
+        return radius;
+    }
+    
+    public int getHeight() {
+        return height;
+    }
+    
+    public int getFlyingHeight() {
+        return flyingHeight;
+    }
+    
+    public SuppressionFilter getFilter() {
+        return filter;
+    }
+    
+    public void setShape(SuppressionShape shape) {
+        this.shape = shape;
+        settingsChanged();
+    }
+    
+    public void setRadius(int radius) {
+        this.radius = Math.max(1, radius);
+        settingsChanged();
+    }
+    
+    public void setHeight(int height) {
+        this.height = Math.max(0, height);
+        settingsChanged();
+    }
+    
+    public void setFlyingHeight(int flyingHeight) {
+        this.flyingHeight = Math.max(0, flyingHeight);
+        settingsChanged();
+    }
+    
+    public void setFilter(SuppressionFilter filter) {
+        this.filter = filter;
+        settingsChanged();
+    }
+    
+    public SuppressionZone createZone() {
+        return new SuppressionZone(worldPosition, shape, radius, height, flyingHeight, filter);
+    }
+    
+    /**
+     * Save the new settings and swap the live zone in place
+     */
+    private void settingsChanged() {
+        setChanged();
+        if (level instanceof ServerLevel serverLevel && !isRemoved()) {
+            MobSuppressionSystem.addSuppressor(serverLevel, createZone());
+        }
+    }
+    
+    @Override
+    public void onLoad() {
+        super.onLoad();
+        if (level instanceof ServerLevel serverLevel) {
+            MobSuppressionSystem.addSuppressor(serverLevel, createZone());
+        }
+    }
+    
+    @Override
+    public void setRemoved() {
+        super.setRemoved();
+        if (level instanceof ServerLevel serverLevel) {
+            MobSuppressionSystem.removeSuppressor(serverLevel, worldPosition);
+        }
+    }
+    
+    @Override
+    protected void loadAdditional(CompoundTag tag, HolderLookup.Provider registries) {
+        super.loadAdditional(tag, registries);
+        shape = SuppressionShape.byName(tag.getString("shape"));
+        if (tag.contains("radius")) {
+            radius = Math.max(1, tag.getInt("radius"));
+        }
+        height = tag.contains("height") ? Math.max(0, tag.getInt("height")) : radius;
+        if (tag.contains("flying_height")) {
+            flyingHeight = Math.max(0, tag.getInt("flying_height"));
+        }
+        filter = SuppressionFilter.load(tag);
+        
+        // Settings changed on a live obelisk (e.g. /data merge block) - swap the zone in place
+        if (level instanceof ServerLevel serverLevel && !isRemoved()) {
+            MobSuppressionSystem.addSuppressor(serverLevel, createZone());
+        }
+    }
+    
+    @Override
+    protected void saveAdditional(CompoundTag tag, HolderLookup.Provider registries) {
+        super.saveAdditional(tag, registries);
+        tag.putString("shape", shape.getSerializedName());
+        tag.putInt("radius", radius);
+        tag.putInt("height", height);
+        tag.putInt("flying_height", flyingHeight);
+        filter.save(tag);
+    }
+}
@@ -5,7 +5,6 @@ import com.raeyncraft.matrixcraft.registry.ModBlocks;
 import net.minecraft.ChatFormatting;
 import net.minecraft.core.BlockPos;
 import net.minecraft.network.chat.Component;
-import net.minecraft.server.level.ServerLevel;
 import net.minecraft.sounds.SoundEvents;
 import net.minecraft.sounds.SoundSource;
 import net.minecraft.world.InteractionHand;
@@ -73,13 +72,10 @@ public class SafeHavenObeliskItem extends Item {
             return InteractionResult.FAIL;
         }
         
-        if (!level.isClientSide && level instanceof ServerLevel serverLevel) {
-            // Place a lodestone as the base
+        if (!level.isClientSide) {
+            // Place the obelisk - its block entity registers the suppression zone
             level.setBlock(placePos, ModBlocks.SAFE_HAVEN_OBELISK.get().defaultBlockState(), 3);
             
-            // Register this position with the MobSuppressionSystem
-            MobSuppressionSystem.addSuppressor(serverLevel, placePos, PROTECTION_RADIUS);
-            
             // Play activation sound
             level.playSound(null, placePos, SoundEvents.BEACON_ACTIVATE, SoundSource.BLOCKS, 1.0f, 0.5f);
             level.playSound(null, placePos, SoundEvents.RESPAWN_ANCHOR_CHARGE, SoundSource.BLOCKS, 0.5f, 0.8f);
@@ -114,7 +110,7 @@ public class SafeHavenObeliskItem extends Item {
             .withStyle(ChatFormatting.RED));
         tooltip.add(Component.literal("• Does not affect players")
             .withStyle(ChatFormatting.GREEN));
-        tooltip.add(Component.literal("• Break the lodestone to remove")
+        tooltip.add(Component.literal("• Break the obelisk to remove")
             .withStyle(ChatFormatting.YELLOW));
         tooltip.add(Component.literal(""));
         tooltip.add(Component.literal("Creative/Operator only")
@@ -0,0 +1,112 @@
+package com.raeyncraft.matrixcraft.item;
+
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.MobSpawnType;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Small LRU of spawn suppression decisions for one level, keyed by
+ * (chunk section, entity type, flying, spawn reason).
+ *
+ * Spawners and farms next to a zone ask the same question for the same section and
+ * mob thousands of times a minute; a hit answers it with one hash lookup. Lookups go
+ * through a reused probe key, so only misses allocate. The whole cache is dropped
+ * whenever the level's zone set version moves on.
+ */
+public class SuppressionDecisionCache {
+    
+    private static final class Key {
+        long section;
+        EntityType<?> type;
+        boolean flying;
+        MobSpawnType reason;
+        int hash;
+        
+        Key set(long section, EntityType<?> type, boolean flying, MobSpawnType reason) {
+            this.section = section;
+            this.type = type;
+            this.flying = flying;
+            this.reason = reason;
+            int h = Long.hashCode(section * 0x9E3779B97F4A7C15L);
+            h = 31 * h + System.identityHashCode(type);
+            h = 31 * h + (reason == null ? -1 : reason.ordinal());
+            this.hash = flying ? ~h : h;
+            return this;
+        }
+        
+        Key copy() {
+            return new Key().set(section, type, flying, reason);
+        }
+        
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other && section == other.section && type == other.type
+                && flying == other.flying && reason == other.reason;
+        }
+    }
+    
+    private final Key probe = new Key();
+    private final LinkedHashMap<Key, SuppressionZoneGrid.SectionResult> entries;
+    private int capacity;
+    private int version = -1;
+    private long hits = 0;
+    private long misses = 0;
+    
+    public SuppressionDecisionCache() {
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, SuppressionZoneGrid.SectionResult> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+    
+    /**
+     * @return the cached decision, or null on a miss (or if the zone set changed since it was cached)
+     */
+    public SuppressionZoneGrid.SectionResult get(int zoneVersion, long section, EntityType<?> type, boolean flying, MobSpawnType reason) {
+        if (zoneVersion != version) {
+            entries.clear();
+            version = zoneVersion;
+            misses++;
+            return null;
+        }
+        SuppressionZoneGrid.SectionResult decision = entries.get(probe.set(section, type, flying, reason));
+        if (decision == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return decision;
+    }
+    
+    public void put(long section, EntityType<?> type, boolean flying, MobSpawnType reason,
+                    SuppressionZoneGrid.SectionResult decision, int capacity) {
+        this.capacity = capacity;
+        entries.put(probe.set(section, type, flying, reason).copy(), decision);
+    }
+    
+    public int size() {
+        return entries.size();
+    }
+    
+    public long getHits() {
+        return hits;
+    }
+    
+    public long getMisses() {
+        return misses;
+    }
+    
+    public void clear() {
+        entries.clear();
+        version = -1;
+    }
+}
@@ -0,0 +1,199 @@
+package com.raeyncraft.matrixcraft.item;
+
+import net.minecraft.core.registries.Registries;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.StringTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.tags.TagKey;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.MobCategory;
+import net.minecraft.world.entity.MobSpawnType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Which mobs a suppression zone applies to, compiled from the obelisk's settings.
+ *
+ * Categories and spawn reasons are held as bitmasks over the enum ordinals, so a test is
+ * two shifts and an AND plus an optional tag lookup, and nothing is allocated per spawn.
+ * An unknown spawn reason (mobs that joined without going through a spawn hook) has its
+ * own bit after the last MobSpawnType.
+ */
+public final class SuppressionFilter {
+    
+    private static final int UNKNOWN_REASON = MobSpawnType.values().length;
+    private static final int ALL_CATEGORIES = (1 << MobCategory.values().length) - 1;
+    private static final int ALL_REASONS = (1 << (UNKNOWN_REASON + 1)) - 1;
+    
+    /** Matches every mob */
+    public static final SuppressionFilter ALL = new SuppressionFilter(ALL_CATEGORIES, ALL_REASONS, null);
+    
+    private final int categoryMask;
+    private final int reasonMask;
+    private final TagKey<EntityType<?>> tag;
+    
+    public SuppressionFilter(int categoryMask, int reasonMask, TagKey<EntityType<?>> tag) {
+        this.categoryMask = categoryMask & ALL_CATEGORIES;
+        this.reasonMask = reasonMask & ALL_REASONS;
+        this.tag = tag;
+    }
+    
+    public boolean matches(EntityType<?> type, MobSpawnType reason) {
+        int reasonBit = reason == null ? UNKNOWN_REASON : reason.ordinal();
+        if (((categoryMask >>> type.getCategory().ordinal()) & (reasonMask >>> reasonBit) & 1) == 0) return false;
+        return tag == null || type.is(tag);
+    }
+    
+    public SuppressionFilter withCategories(int categoryMask) {
+        return of(categoryMask, reasonMask, tag);
+    }
+    
+    public SuppressionFilter withReasons(int reasonMask) {
+        return of(categoryMask, reasonMask, tag);
+    }
+    
+    public SuppressionFilter withTag(TagKey<EntityType<?>> tag) {
+        return of(categoryMask, reasonMask, tag);
+    }
+    
+    private static SuppressionFilter of(int categoryMask, int reasonMask, TagKey<EntityType<?>> tag) {
+        SuppressionFilter filter = new SuppressionFilter(categoryMask, reasonMask, tag);
+        return filter.isAll() ? ALL : filter;
+    }
+    
+    /**
+     * Mask for a space or comma separated list of mob category names; "any" matches all
+     * @return the mask, or -1 if a name is unknown
+     */
+    public static int parseCategories(String names) {
+        if (names.trim().equalsIgnoreCase("any")) return ALL_CATEGORIES;
+        int mask = 0;
+        for (String name : names.split("[\\s,]+")) {
+            if (name.isEmpty()) continue;
+            int bit = -1;
+            for (MobCategory category : MobCategory.values()) {
+                if (category.getName().equalsIgnoreCase(name)) bit = category.ordinal();
+            }
+            if (bit < 0) return -1;
+            mask |= 1 << bit;
+        }
+        return mask == 0 ? -1 : mask;
+    }
+    
+    /**
+     * Mask for a space or comma separated list of spawn reason names; "any" matches all
+     * @return the mask, or -1 if a name is unknown
+     */
+    public static int parseReasons(String names) {
+        if (names.trim().equalsIgnoreCase("any")) return ALL_REASONS;
+        int mask = 0;
+        for (String name : names.split("[\\s,]+")) {
+            if (name.isEmpty()) continue;
+            int bit = -1;
+            for (MobSpawnType reason : MobSpawnType.values()) {
+                if (reason.name().equalsIgnoreCase(name)) bit = reason.ordinal();
+            }
+            if (bit < 0) return -1;
+            mask |= 1 << bit;
+        }
+        return mask == 0 ? -1 : mask;
+    }
+    
+    public boolean isAll() {
+        return categoryMask == ALL_CATEGORIES && reasonMask == ALL_REASONS && tag == null;
+    }
+    
+    public String describe() {
+        if (isAll()) return "all mobs";
+        
+        List<String> parts = new ArrayList<>();
+        if (categoryMask != ALL_CATEGORIES) {
+            List<String> names = new ArrayList<>();
+            for (MobCategory category : MobCategory.values()) {
+                if ((categoryMask & (1 << category.ordinal())) != 0) names.add(category.getName());
+            }
+            parts.add("categories=" + names);
+        }
+        if (reasonMask != ALL_REASONS) {
+            List<String> names = new ArrayList<>();
+            for (MobSpawnType reason : MobSpawnType.values()) {
+                if ((reasonMask & (1 << reason.ordinal())) != 0) names.add(reason.name().toLowerCase(Locale.ROOT));
+            }
+            parts.add("reasons=" + names);
+        }
+        if (tag != null) {
+            parts.add("tag=#" + tag.location());
+        }
+        return String.join(", ", parts);
+    }
+    
+    // ==================== SERIALIZATION ====================
+    
+    /**
+     * Write the filter into an obelisk's tag. Unrestricted fields are left out.
+     */
+    public void save(CompoundTag tag) {
+        if (categoryMask != ALL_CATEGORIES) {
+            ListTag categories = new ListTag();
+            for (MobCategory category : MobCategory.values()) {
+                if ((categoryMask & (1 << category.ordinal())) != 0) categories.add(StringTag.valueOf(category.getName()));
+            }
+            tag.put("categories", categories);
+        }
+        if (reasonMask != ALL_REASONS) {
+            ListTag reasons = new ListTag();
+            for (MobSpawnType reason : MobSpawnType.values()) {
+                if ((reasonMask & (1 << reason.ordinal())) != 0) reasons.add(StringTag.valueOf(reason.name().toLowerCase(Locale.ROOT)));
+            }
+            tag.put("reasons", reasons);
+        }
+        if (this.tag != null) {
+            tag.putString("entity_tag", this.tag.location().toString());
+        }
+    }
+    
+    /**
+     * Compile a filter from an obelisk's tag. Missing or empty lists mean "any";
+     * unknown names are ignored.
+     */
+    public static SuppressionFilter load(CompoundTag tag) {
+        int categoryMask = ALL_CATEGORIES;
+        ListTag categories = tag.getList("categories", Tag.TAG_STRING);
+        if (!categories.isEmpty()) {
+            categoryMask = 0;
+            for (int i = 0; i < categories.size(); i++) {
+                String name = categories.getString(i);
+                for (MobCategory category : MobCategory.values()) {
+                    if (category.getName().equalsIgnoreCase(name)) categoryMask |= 1 << category.ordinal();
+                }
+            }
+        }
+        
+        int reasonMask = ALL_REASONS;
+        ListTag reasons = tag.getList("reasons", Tag.TAG_STRING);
+        if (!reasons.isEmpty()) {
+            reasonMask = 0;
+            for (int i = 0; i < reasons.size(); i++) {
+                String name = reasons.getString(i);
+                for (MobSpawnType reason : MobSpawnType.values()) {
+                    if (reason.name().equalsIgnoreCase(name)) reasonMask |= 1 << reason.ordinal();
+                }
+            }
+        }
+        
+        TagKey<EntityType<?>> entityTag = null;
+        if (tag.contains("entity_tag", Tag.TAG_STRING)) {
+            ResourceLocation location = ResourceLocation.tryParse(tag.getString("entity_tag"));
+            if (location != null) {
+                entityTag = TagKey.create(Registries.ENTITY_TYPE, location);
+            }
+        }
+        
+        if (categoryMask == ALL_CATEGORIES && reasonMask == ALL_REASONS && entityTag == null) return ALL;
+        return new SuppressionFilter(categoryMask, reasonMask, entityTag);
+    }
+}
@@ -0,0 +1,108 @@
+package com.raeyncraft.matrixcraft.item;
+
+import com.raeyncraft.matrixcraft.metrics.LatencyHistogram;
+import net.minecraft.core.BlockPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counters and lookup timings for mob suppression, per level and per zone.
+ * Everything here is recorded on the server thread.
+ *
+ * Zone counters are keyed by obelisk position, so they survive the zone being
+ * re-registered when its chunk unloads and loads again.
+ */
+public class SuppressionMetrics {
+    
+    public static final class ZoneStats {
+        static final ZoneStats EMPTY = new ZoneStats();
+        
+        long spawnsBlocked = 0;
+        long entitiesDiscarded = 0;
+        
+        public long getSpawnsBlocked() {
+            return spawnsBlocked;
+        }
+        
+        public long getEntitiesDiscarded() {
+            return entitiesDiscarded;
+        }
+    }
+    
+    public static final class LevelStats {
+        // Time per zone lookup in nanoseconds
+        final LatencyHistogram lookupNanos = new LatencyHistogram();
+        long spawnsBlocked = 0;
+        long entitiesDiscarded = 0;
+        final Map<BlockPos, ZoneStats> zones = new HashMap<>();
+    }
+    
+    private static final Map<ResourceKey<Level>, LevelStats> levels = new LinkedHashMap<>();
+    
+    private static LevelStats forLevel(ServerLevel level) {
+        return levels.computeIfAbsent(level.dimension(), k -> new LevelStats());
+    }
+    
+    static void recordLookup(ServerLevel level, long nanos) {
+        forLevel(level).lookupNanos.record(nanos);
+    }
+    
+    static void recordBlocked(ServerLevel level, SuppressionZone zone) {
+        LevelStats stats = forLevel(level);
+        stats.spawnsBlocked++;
+        stats.zones.computeIfAbsent(zone.pos, k -> new ZoneStats()).spawnsBlocked++;
+    }
+    
+    static void recordDiscarded(ServerLevel level, SuppressionZone zone) {
+        LevelStats stats = forLevel(level);
+        stats.entitiesDiscarded++;
+        stats.zones.computeIfAbsent(zone.pos, k -> new ZoneStats()).entitiesDiscarded++;
+    }
+    
+    public static ZoneStats getZoneStats(ServerLevel level, BlockPos pos) {
+        LevelStats stats = levels.get(level.dimension());
+        ZoneStats zone = stats == null ? null : stats.zones.get(pos);
+        return zone == null ? ZoneStats.EMPTY : zone;
+    }
+    
+    /**
+     * The given zones ordered by spawns blocked, most first
+     */
+    public static List<SuppressionZone> sortByBlocked(ServerLevel level, Collection<SuppressionZone> zones) {
+        List<SuppressionZone> sorted = new ArrayList<>(zones);
+        sorted.sort(Comparator.comparingLong((SuppressionZone zone) -> getZoneStats(level, zone.pos).spawnsBlocked).reversed());
+        return sorted;
+    }
+    
+    public static String[] describe(ServerLevel level) {
+        LevelStats stats = levels.get(level.dimension());
+        if (stats == null) {
+            return new String[] { "§7No suppression activity recorded in this level" };
+        }
+        
+        SuppressionDecisionCache cache = MobSuppressionSystem.getDecisionCache(level);
+        String cacheLine = cache == null
+            ? "§7Decision cache: §eunused"
+            : "§7Decision cache: §e" + cache.size() + " entries §7hits: §e" + cache.getHits() + " §7misses: §e" + cache.getMisses();
+        
+        return new String[] {
+            "§7Zones: §e" + MobSuppressionSystem.getSuppressorCount(level),
+            "§7Lookups: §e" + stats.lookupNanos.summary(1, "ns"),
+            cacheLine,
+            "§7Spawns blocked: §e" + stats.spawnsBlocked + " §7Entities discarded: §e" + stats.entitiesDiscarded
+        };
+    }
+    
+    public static void reset() {
+        levels.clear();
+    }
+}
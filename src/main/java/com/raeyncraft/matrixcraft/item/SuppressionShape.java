@@ -0,0 +1,29 @@
+package com.raeyncraft.matrixcraft.item;
+
+import java.util.Locale;
+
+/**
+ * Shape of a suppression zone around its obelisk
+ */
+public enum SuppressionShape {
+    /** Disc of the zone radius, extending the zone height up and down */
+    CYLINDER,
+    /** Ball of the zone radius */
+    SPHERE,
+    /** Square of side 2 * radius + 1, extending the zone height up and down */
+    BOX;
+    
+    public String getSerializedName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+    
+    /**
+     * @return the shape with the given name, or CYLINDER if unknown
+     */
+    public static SuppressionShape byName(String name) {
+        for (SuppressionShape shape : values()) {
+            if (shape.getSerializedName().equalsIgnoreCase(name)) return shape;
+        }
+        return CYLINDER;
+    }
+}
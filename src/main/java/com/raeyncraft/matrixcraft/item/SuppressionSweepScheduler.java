@@ -0,0 +1,84 @@
+package com.raeyncraft.matrixcraft.item;
+
+import net.minecraft.server.level.ServerLevel;
+
+/**
+ * Round-robin scheduler for zone sweeps in one level.
+ *
+ * Instead of sweeping every zone on the same tick, each tick takes the next slice of
+ * zones from a snapshot of the level's zone set. The slice size is the tick budget
+ * divided by a running average of the cost of one zone sweep, so the work per tick
+ * stays roughly constant however many zones there are. A full pass is not started
+ * more often than once per cycle, so small zone sets keep the old once-a-second cadence.
+ */
+public class SuppressionSweepScheduler {
+    
+    /** Sweeps one zone */
+    public interface ZoneSweeper {
+        void sweep(ServerLevel level, SuppressionZone zone);
+    }
+    
+    // Starting estimate for one zone sweep before any have been measured
+    private static final double INITIAL_NANOS_PER_ZONE = 20_000;
+    // Weight of the newest measurement in the running average
+    private static final double AVERAGE_WEIGHT = 0.1;
+    
+    private static final SuppressionZone[] EMPTY = new SuppressionZone[0];
+    
+    private final int cycleTicks;
+    private SuppressionZone[] zones = EMPTY;
+    private int cursor = 0;
+    private int version = -1;
+    private long cycleStartTick;
+    private double nanosPerZone = INITIAL_NANOS_PER_ZONE;
+    
+    public SuppressionSweepScheduler(int cycleTicks) {
+        this.cycleTicks = cycleTicks;
+        // So the first pass may start on the first tick
+        this.cycleStartTick = -cycleTicks;
+    }
+    
+    /**
+     * Sweep the next slice of zones.
+     * @param budgetNanos time this level may spend this tick (one zone is swept even when it is used up)
+     * @return nanoseconds actually spent
+     */
+    public long tick(ServerLevel level, SuppressionZoneGrid grid, long tick, long budgetNanos, ZoneSweeper sweeper) {
+        // Zone set changed - resnapshot, keeping roughly the same place in the pass
+        if (grid.getVersion() != version) {
+            zones = grid.getZones().toArray(EMPTY);
+            version = grid.getVersion();
+            cursor = Math.min(cursor, zones.length);
+        }
+        
+        if (cursor >= zones.length) {
+            if (tick - cycleStartTick < cycleTicks) return 0;
+            cursor = 0;
+            cycleStartTick = tick;
+        }
+        if (zones.length == 0) return 0;
+        
+        // At least one zone per tick, so a level is never starved by the ones swept before it
+        int slice = (int) Math.max(1, Math.min(zones.length - cursor, budgetNanos / nanosPerZone));
+        long start = System.nanoTime();
+        for (int i = 0; i < slice; i++) {
+            sweeper.sweep(level, zones[cursor++]);
+        }
+        long spent = System.nanoTime() - start;
+        
+        nanosPerZone += AVERAGE_WEIGHT * ((double) spent / slice - nanosPerZone);
+        return spent;
+    }
+    
+    public int getZoneCount() {
+        return zones.length;
+    }
+    
+    public int getCursor() {
+        return cursor;
+    }
+    
+    public double getNanosPerZone() {
+        return nanosPerZone;
+    }
+}
@@ -0,0 +1,166 @@
+package com.raeyncraft.matrixcraft.item;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.MobSpawnType;
+import net.minecraft.world.phys.AABB;
+
+/**
+ * A single mob suppression zone around a Safe Haven Obelisk.
+ *
+ * The obelisk's settings are compiled once into plain fields: the shape becomes a
+ * square/disc switch plus a vertical reach, and the mob filter becomes a SuppressionFilter,
+ * so spawn checks only do arithmetic on final fields.
+ */
+public class SuppressionZone {
+    
+    // Default extended vertical range for flying mobs (phantoms spawn high up)
+    public static final int VERTICAL_EXTENSION = 128;
+    
+    public final BlockPos pos;
+    public final int x, y, z;
+    public final SuppressionShape shape;
+    public final int radius;
+    // Vertical reach for box/cylinder zones
+    public final int height;
+    // Vertical reach for flying mobs, which are tested against the zone's column for every shape
+    public final int flyingHeight;
+    public final SuppressionFilter filter;
+    private final long radiusSq;
+    private final boolean square;
+    private final boolean sphere;
+    // Box enclosing everything the zone can contain, flying range included
+    public final AABB sweepBounds;
+    // Shared decision for sections this zone contains entirely
+    final SuppressionZoneGrid.SectionResult wholeSection;
+    
+    public SuppressionZone(BlockPos pos, int radius) {
+        this(pos, SuppressionShape.CYLINDER, radius, radius, Math.max(radius, VERTICAL_EXTENSION), SuppressionFilter.ALL);
+    }
+    
+    public SuppressionZone(BlockPos pos, SuppressionShape shape, int radius, int height, int flyingHeight, SuppressionFilter filter) {
+        this.pos = pos.immutable();
+        this.x = pos.getX();
+        this.y = pos.getY();
+        this.z = pos.getZ();
+        this.shape = shape;
+        this.radius = radius;
+        this.height = shape == SuppressionShape.SPHERE ? radius : height;
+        this.flyingHeight = Math.max(this.height, flyingHeight);
+        this.filter = filter;
+        this.radiusSq = (long) radius * radius;
+        this.square = shape == SuppressionShape.BOX;
+        this.sphere = shape == SuppressionShape.SPHERE;
+        int vertical = this.flyingHeight;
+        this.sweepBounds = new AABB(x - radius, y - vertical, z - radius, x + radius + 1, y + vertical + 1, z + radius + 1);
+        this.wholeSection = new SuppressionZoneGrid.SectionResult(SuppressionZoneGrid.SectionDecision.SUPPRESS, this);
+    }
+    
+    /**
+     * Shape check - extended vertical range for flying mobs
+     */
+    public boolean contains(int px, int py, int pz, boolean extendedVertical) {
+        long dx = px - x;
+        long dy = py - y;
+        long dz = pz - z;
+        if (sphere && !extendedVertical) {
+            return dx * dx + dy * dy + dz * dz <= radiusSq;
+        }
+        if (!containsHorizontal(dx, dz)) return false;
+        return Math.abs(dy) <= (extendedVertical ? flyingHeight : height);
+    }
+    
+    /**
+     * Vertical part of the check only, for columns known to be inside the footprint (never a sphere)
+     */
+    public boolean containsVertical(int py, boolean extendedVertical) {
+        return Math.abs(py - y) <= (extendedVertical ? flyingHeight : height);
+    }
+    
+    /**
+     * Whether the zone's filter applies to this mob
+     */
+    public boolean matches(EntityType<?> type, MobSpawnType reason) {
+        return filter.matches(type, reason);
+    }
+    
+    /**
+     * True if every block column of the chunk lies inside this zone's footprint.
+     * Spheres never qualify, since their vertical reach depends on the column.
+     */
+    public boolean coversChunkColumn(int chunkX, int chunkZ) {
+        return !sphere && footprintCovers(chunkX, chunkZ);
+    }
+    
+    /**
+     * True if every block of the chunk section lies inside the zone
+     */
+    public boolean containsSection(int sectionX, int sectionY, int sectionZ, boolean extendedVertical) {
+        int minY = sectionY << 4;
+        if (sphere && !extendedVertical) {
+            // Farthest corner of the box
+            long dx = farthest(sectionX << 4, x);
+            long dy = farthest(minY, y);
+            long dz = farthest(sectionZ << 4, z);
+            return dx * dx + dy * dy + dz * dz <= radiusSq;
+        }
+        int reach = extendedVertical ? flyingHeight : height;
+        return minY - y >= -reach && minY + 15 - y <= reach && footprintCovers(sectionX, sectionZ);
+    }
+    
+    /**
+     * False only if no block of the chunk section can be inside the zone
+     */
+    public boolean mayIntersectSection(int sectionX, int sectionY, int sectionZ, boolean extendedVertical) {
+        // Nearest point of the box on each axis
+        long dx = nearest(sectionX << 4, x);
+        long dy = nearest(sectionY << 4, y);
+        long dz = nearest(sectionZ << 4, z);
+        if (sphere && !extendedVertical) {
+            return dx * dx + dy * dy + dz * dz <= radiusSq;
+        }
+        return dy <= (extendedVertical ? flyingHeight : height) && containsHorizontal(dx, dz);
+    }
+    
+    private boolean footprintCovers(int chunkX, int chunkZ) {
+        return containsHorizontal(farthest(chunkX << 4, x), farthest(chunkZ << 4, z));
+    }
+    
+    // Distance from center to the far / near edge of a 16-block span starting at min
+    private static long farthest(int min, int center) {
+        return Math.max(Math.abs(min - center), Math.abs(min + 15 - center));
+    }
+    
+    private static long nearest(int min, int center) {
+        return center < min ? min - center : Math.max(0, center - (min + 15));
+    }
+    
+    private boolean containsHorizontal(long dx, long dz) {
+        return square
+            ? Math.max(Math.abs(dx), Math.abs(dz)) <= radius
+            : dx * dx + dz * dz <= radiusSq;
+    }
+    
+    public String describe() {
+        String size = shape == SuppressionShape.SPHERE
+            ? "r=" + radius
+            : "r=" + radius + " h=" + height;
+        return shape.getSerializedName() + " " + size + ", " + filter.describe();
+    }
+    
+    public int minChunkX() {
+        return (x - radius) >> 4;
+    }
+    
+    public int maxChunkX() {
+        return (x + radius) >> 4;
+    }
+    
+    public int minChunkZ() {
+        return (z - radius) >> 4;
+    }
+    
+    public int maxChunkZ() {
+        return (z + radius) >> 4;
+    }
+}
@@ -0,0 +1,260 @@
+package com.raeyncraft.matrixcraft.item;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.MobSpawnType;
+import net.minecraft.world.level.ChunkPos;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-level index of suppression zones, bucketed by chunk column.
+ *
+ * Each 16x16 column holds the zones whose footprint overlaps it, so a point query
+ * tests only the handful of candidates in one cell. Zones whose footprint covers the whole
+ * column are kept apart from the ones that only clip it: for those only the vertical
+ * range needs checking, and the distance math runs just for the partial ones.
+ * Cells are immutable and rebuilt when zones change, so queries allocate nothing.
+ *
+ * Writes happen on the server thread only, but worldgen spawn checks query the grid
+ * from worker threads. The cell map is therefore copy-on-write: each change builds a
+ * new map and publishes it through a volatile field, and queries read whichever map
+ * was current when they started. Only the find, classifySection and getCoverage
+ * queries are safe off the server thread.
+ */
+public class SuppressionZoneGrid {
+    
+    public enum Coverage {
+        /** No zone touches the column */
+        NONE,
+        /** Some zone touches part of the column */
+        PARTIAL,
+        /** Some zone's footprint covers every block column of the chunk (vertical range and filters still apply) */
+        FULL
+    }
+    
+    /** How the zones treat a whole chunk section for one kind of mob */
+    public enum SectionDecision {
+        /** No applicable zone reaches any block of the section */
+        ALLOW,
+        /** An applicable zone contains every block of the section */
+        SUPPRESS,
+        /** The answer depends on the position inside the section */
+        MIXED
+    }
+    
+    /** A section decision, plus the zone responsible when it is SUPPRESS */
+    public static final class SectionResult {
+        public static final SectionResult ALLOW = new SectionResult(SectionDecision.ALLOW, null);
+        public static final SectionResult MIXED = new SectionResult(SectionDecision.MIXED, null);
+        
+        public final SectionDecision decision;
+        public final SuppressionZone zone;
+        
+        SectionResult(SectionDecision decision, SuppressionZone zone) {
+            this.decision = decision;
+            this.zone = zone;
+        }
+    }
+    
+    private static final SuppressionZone[] EMPTY = new SuppressionZone[0];
+    
+    static final class Cell {
+        final SuppressionZone[] full;
+        final SuppressionZone[] partial;
+        
+        Cell(SuppressionZone[] full, SuppressionZone[] partial) {
+            this.full = full;
+            this.partial = partial;
+        }
+        
+        Coverage coverage() {
+            return full.length > 0 ? Coverage.FULL : Coverage.PARTIAL;
+        }
+    }
+    
+    private final Map<BlockPos, SuppressionZone> zones = new LinkedHashMap<>();
+    // Chunk column key (ChunkPos.asLong) -> zones overlapping that column
+    // Never modified once published - writers replace the whole map
+    private volatile Long2ObjectOpenHashMap<Cell> cells = new Long2ObjectOpenHashMap<>();
+    // Bumped on every change to the zone set, so cached decisions can tell they are stale
+    private int version = 0;
+    
+    public void add(SuppressionZone zone) {
+        remove(zone.pos);
+        zones.put(zone.pos, zone);
+        version++;
+        
+        Long2ObjectOpenHashMap<Cell> cells = this.cells.clone();
+        for (int cx = zone.minChunkX(); cx <= zone.maxChunkX(); cx++) {
+            for (int cz = zone.minChunkZ(); cz <= zone.maxChunkZ(); cz++) {
+                long key = ChunkPos.asLong(cx, cz);
+                Cell cell = cells.get(key);
+                SuppressionZone[] full = cell == null ? EMPTY : cell.full;
+                SuppressionZone[] partial = cell == null ? EMPTY : cell.partial;
+                if (zone.coversChunkColumn(cx, cz)) {
+                    full = append(full, zone);
+                } else {
+                    partial = append(partial, zone);
+                }
+                cells.put(key, new Cell(full, partial));
+            }
+        }
+        this.cells = cells;
+    }
+    
+    /**
+     * @return the removed zone, or null
+     */
+    public SuppressionZone remove(BlockPos pos) {
+        SuppressionZone zone = zones.remove(pos);
+        if (zone == null) return null;
+        version++;
+        
+        Long2ObjectOpenHashMap<Cell> cells = this.cells.clone();
+        for (int cx = zone.minChunkX(); cx <= zone.maxChunkX(); cx++) {
+            for (int cz = zone.minChunkZ(); cz <= zone.maxChunkZ(); cz++) {
+                long key = ChunkPos.asLong(cx, cz);
+                Cell cell = cells.get(key);
+                if (cell == null) continue;
+                
+                SuppressionZone[] full = without(cell.full, zone);
+                SuppressionZone[] partial = without(cell.partial, zone);
+                if (full.length == 0 && partial.length == 0) {
+                    cells.remove(key);
+                } else {
+                    cells.put(key, new Cell(full, partial));
+                }
+            }
+        }
+        this.cells = cells;
+        return zone;
+    }
+    
+    /**
+     * @return the first zone containing the position whose filter applies to the mob, or null
+     */
+    public SuppressionZone find(int x, int y, int z, boolean extendedVertical, EntityType<?> type, MobSpawnType reason) {
+        Cell cell = cells.get(ChunkPos.asLong(x >> 4, z >> 4));
+        if (cell == null) return null;
+        
+        SuppressionZone[] full = cell.full;
+        for (int i = 0; i < full.length; i++) {
+            if (full[i].containsVertical(y, extendedVertical) && full[i].matches(type, reason)) return full[i];
+        }
+        SuppressionZone[] partial = cell.partial;
+        for (int i = 0; i < partial.length; i++) {
+            if (partial[i].contains(x, y, z, extendedVertical) && partial[i].matches(type, reason)) return partial[i];
+        }
+        return null;
+    }
+    
+    /**
+     * @return the first zone containing the position regardless of filters, or null
+     */
+    public SuppressionZone find(int x, int y, int z, boolean extendedVertical) {
+        Cell cell = cells.get(ChunkPos.asLong(x >> 4, z >> 4));
+        if (cell == null) return null;
+        
+        SuppressionZone[] full = cell.full;
+        for (int i = 0; i < full.length; i++) {
+            if (full[i].containsVertical(y, extendedVertical)) return full[i];
+        }
+        SuppressionZone[] partial = cell.partial;
+        for (int i = 0; i < partial.length; i++) {
+            if (partial[i].contains(x, y, z, extendedVertical)) return partial[i];
+        }
+        return null;
+    }
+    
+    /**
+     * Classify a whole chunk section for one kind of mob
+     */
+    public SectionResult classifySection(int sectionX, int sectionY, int sectionZ, boolean extendedVertical,
+                                         EntityType<?> type, MobSpawnType reason) {
+        Cell cell = cells.get(ChunkPos.asLong(sectionX, sectionZ));
+        if (cell == null) return SectionResult.ALLOW;
+        
+        SectionResult full = classify(cell.full, sectionX, sectionY, sectionZ, extendedVertical, type, reason);
+        if (full.decision == SectionDecision.SUPPRESS) return full;
+        SectionResult partial = classify(cell.partial, sectionX, sectionY, sectionZ, extendedVertical, type, reason);
+        if (partial.decision == SectionDecision.SUPPRESS) return partial;
+        return full == SectionResult.MIXED ? full : partial;
+    }
+    
+    private static SectionResult classify(SuppressionZone[] zones, int sectionX, int sectionY, int sectionZ,
+                                          boolean extendedVertical, EntityType<?> type, MobSpawnType reason) {
+        SectionResult result = SectionResult.ALLOW;
+        for (int i = 0; i < zones.length; i++) {
+            SuppressionZone zone = zones[i];
+            if (!zone.matches(type, reason)) continue;
+            if (zone.containsSection(sectionX, sectionY, sectionZ, extendedVertical)) return zone.wholeSection;
+            if (zone.mayIntersectSection(sectionX, sectionY, sectionZ, extendedVertical)) result = SectionResult.MIXED;
+        }
+        return result;
+    }
+    
+    /**
+     * How much of a chunk column the zones cover, precomputed when zones change
+     */
+    public Coverage getCoverage(int chunkX, int chunkZ) {
+        Cell cell = cells.get(ChunkPos.asLong(chunkX, chunkZ));
+        return cell == null ? Coverage.NONE : cell.coverage();
+    }
+    
+    public SuppressionZone get(BlockPos pos) {
+        return zones.get(pos);
+    }
+    
+    public boolean contains(BlockPos pos) {
+        return zones.containsKey(pos);
+    }
+    
+    public Collection<SuppressionZone> getZones() {
+        return Collections.unmodifiableCollection(zones.values());
+    }
+    
+    public int size() {
+        return zones.size();
+    }
+    
+    public boolean isEmpty() {
+        return zones.isEmpty();
+    }
+    
+    public int getVersion() {
+        return version;
+    }
+    
+    public int cellCount() {
+        return cells.size();
+    }
+    
+    private static SuppressionZone[] append(SuppressionZone[] array, SuppressionZone zone) {
+        SuppressionZone[] grown = Arrays.copyOf(array, array.length + 1);
+        grown[array.length] = zone;
+        return grown;
+    }
+    
+    private static SuppressionZone[] without(SuppressionZone[] array, SuppressionZone zone) {
+        int index = -1;
+        for (int i = 0; i < array.length; i++) {
+            if (array[i] == zone) {
+                index = i;
+                break;
+            }
+        }
+        if (index < 0) return array;
+        if (array.length == 1) return EMPTY;
+        
+        SuppressionZone[] shrunk = new SuppressionZone[array.length - 1];
+        System.arraycopy(array, 0, shrunk, 0, index);
+        System.arraycopy(array, index + 1, shrunk, index, array.length - index - 1);
+        return shrunk;
+    }
+}
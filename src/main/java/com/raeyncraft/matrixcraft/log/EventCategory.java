@@ -0,0 +1,63 @@
+package com.raeyncraft.matrixcraft.log;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Subsystems that write to the EventLog. Each category can be switched off
+ * (costing one volatile read per call site) and is rate limited per second.
+ */
+public enum EventCategory {
+    GLASS("GlassRepair", true),
+    WALLRUN("WallRun", false),
+    BULLET_TRAIL("BulletTrailTracker", false),
+    DYNAMIC_LIGHT("DynamicLightManager", false),
+    SUPPRESSION("MobSuppression", true);
+    
+    final String tag;
+    
+    private volatile boolean enabled;
+    private volatile int maxPerSecond = 20;
+    
+    // Fixed one-second window for rate limiting
+    private volatile long window = 0;
+    private final AtomicInteger windowCount = new AtomicInteger();
+    private final AtomicInteger suppressed = new AtomicInteger();
+    
+    EventCategory(String tag, boolean enabledByDefault) {
+        this.tag = tag;
+        this.enabled = enabledByDefault;
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    void configure(boolean enabled, int maxPerSecond) {
+        this.enabled = enabled;
+        this.maxPerSecond = maxPerSecond;
+    }
+    
+    /**
+     * @return true if another event fits in this second's allowance
+     */
+    boolean tryAcquire() {
+        int limit = maxPerSecond;
+        if (limit <= 0) return true;
+        
+        long now = System.currentTimeMillis() / 1000L;
+        if (now != window) {
+            window = now;
+            windowCount.set(0);
+        }
+        if (windowCount.incrementAndGet() <= limit) return true;
+        suppressed.incrementAndGet();
+        return false;
+    }
+    
+    /**
+     * @return events dropped by the rate limit since the last call
+     */
+    int takeSuppressed() {
+        return suppressed.getAndSet(0);
+    }
+}
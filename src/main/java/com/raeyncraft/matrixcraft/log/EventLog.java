@@ -0,0 +1,168 @@
+package com.raeyncraft.matrixcraft.log;
+
+import com.raeyncraft.matrixcraft.MatrixCraftConfig;
+import com.raeyncraft.matrixcraft.MatrixCraftMod;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.fml.event.config.ModConfigEvent;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Mod-wide diagnostic event log for hot paths.
+ *
+ * Call sites publish a template and up to three arguments into a fixed, preallocated
+ * ring buffer; a daemon thread drains it and does the formatting and the actual logging.
+ * Producers never block or lock: claiming a slot is one CAS, and when the buffer is full
+ * the event is dropped and counted. A disabled category returns before touching anything,
+ * so pass primitives only behind an {@link #isEnabled} check to avoid boxing.
+ */
+@EventBusSubscriber(modid = MatrixCraftMod.MODID, bus = EventBusSubscriber.Bus.MOD)
+public class EventLog {
+    
+    private static final int CAPACITY = 4096; // power of two
+    private static final int MASK = CAPACITY - 1;
+    // How long the drain thread sleeps when the buffer is empty
+    private static final long IDLE_PARK_NANOS = 2_000_000L;
+    // How often rate-limit summaries are written
+    private static final long SUPPRESSED_REPORT_NANOS = 5_000_000_000L;
+    
+    private static class Slot {
+        // Sequence number of the event stored here + 1, 0 until first publish
+        volatile long published = 0;
+        EventCategory category;
+        String template;
+        int argCount;
+        Object arg0, arg1, arg2;
+    }
+    
+    private static final Slot[] slots = new Slot[CAPACITY];
+    // Next sequence to claim / next sequence to drain
+    private static final AtomicLong head = new AtomicLong();
+    private static final AtomicLong tail = new AtomicLong();
+    private static final AtomicLong dropped = new AtomicLong();
+    
+    static {
+        for (int i = 0; i < CAPACITY; i++) {
+            slots[i] = new Slot();
+        }
+        Thread drainer = new Thread(EventLog::drainLoop, "MatrixCraft-EventLog");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+    
+    public static boolean isEnabled(EventCategory category) {
+        return category.isEnabled();
+    }
+    
+    public static void log(EventCategory category, String template) {
+        if (!category.isEnabled()) return;
+        publish(category, template, 0, null, null, null);
+    }
+    
+    public static void log(EventCategory category, String template, Object arg0) {
+        if (!category.isEnabled()) return;
+        publish(category, template, 1, arg0, null, null);
+    }
+    
+    public static void log(EventCategory category, String template, Object arg0, Object arg1) {
+        if (!category.isEnabled()) return;
+        publish(category, template, 2, arg0, arg1, null);
+    }
+    
+    public static void log(EventCategory category, String template, Object arg0, Object arg1, Object arg2) {
+        if (!category.isEnabled()) return;
+        publish(category, template, 3, arg0, arg1, arg2);
+    }
+    
+    public static long getDroppedCount() {
+        return dropped.get();
+    }
+    
+    private static void publish(EventCategory category, String template, int argCount, Object arg0, Object arg1, Object arg2) {
+        if (!category.tryAcquire()) return;
+        
+        long sequence;
+        do {
+            sequence = head.get();
+            if (sequence - tail.get() >= CAPACITY) {
+                dropped.incrementAndGet();
+                return;
+            }
+        } while (!head.compareAndSet(sequence, sequence + 1));
+        
+        Slot slot = slots[(int) (sequence & MASK)];
+        slot.category = category;
+        slot.template = template;
+        slot.argCount = argCount;
+        slot.arg0 = arg0;
+        slot.arg1 = arg1;
+        slot.arg2 = arg2;
+        slot.published = sequence + 1;
+    }
+    
+    private static void drainLoop() {
+        long nextReport = System.nanoTime() + SUPPRESSED_REPORT_NANOS;
+        long reportedDrops = 0;
+        
+        while (true) {
+            long sequence = tail.get();
+            Slot slot = slots[(int) (sequence & MASK)];
+            
+            if (slot.published == sequence + 1) {
+                write(slot);
+                slot.template = null;
+                slot.arg0 = slot.arg1 = slot.arg2 = null;
+                tail.set(sequence + 1);
+                continue;
+            }
+            
+            long now = System.nanoTime();
+            if (now >= nextReport) {
+                nextReport = now + SUPPRESSED_REPORT_NANOS;
+                for (EventCategory category : EventCategory.values()) {
+                    int suppressed = category.takeSuppressed();
+                    if (suppressed > 0) {
+                        MatrixCraftMod.LOGGER.info("[{}] {} events suppressed by rate limit", category.tag, suppressed);
+                    }
+                }
+                long drops = dropped.get();
+                if (drops != reportedDrops) {
+                    MatrixCraftMod.LOGGER.warn("[EventLog] {} events dropped, buffer full", drops - reportedDrops);
+                    reportedDrops = drops;
+                }
+            }
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+    }
+    
+    private static void write(Slot slot) {
+        String message = "[" + slot.category.tag + "] " + slot.template;
+        switch (slot.argCount) {
+            case 0 -> MatrixCraftMod.LOGGER.info(message);
+            case 1 -> MatrixCraftMod.LOGGER.info(message, slot.arg0);
+            case 2 -> MatrixCraftMod.LOGGER.info(message, slot.arg0, slot.arg1);
+            default -> MatrixCraftMod.LOGGER.info(message, slot.arg0, slot.arg1, slot.arg2);
+        }
+    }
+    
+    // ==================== CONFIG ====================
+    
+    @SubscribeEvent
+    public static void onConfigLoad(ModConfigEvent.Loading event) {
+        applyConfig();
+    }
+    
+    @SubscribeEvent
+    public static void onConfigReload(ModConfigEvent.Reloading event) {
+        applyConfig();
+    }
+    
+    private static void applyConfig() {
+        int limit = MatrixCraftConfig.getEventLogRateLimit();
+        for (EventCategory category : EventCategory.values()) {
+            category.configure(MatrixCraftConfig.isEventLogCategoryEnabled(category), limit);
+        }
+    }
+}
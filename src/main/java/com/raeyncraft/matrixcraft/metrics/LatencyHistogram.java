@@ -0,0 +1,117 @@
+package com.raeyncraft.matrixcraft.metrics;
+
+import com.google.gson.JsonObject;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size log-linear histogram in the style of HdrHistogram.
+ *
+ * Values are bucketed by power of two with 8 linear sub-buckets per octave, which keeps
+ * every reported percentile within 12.5% of the true value across the full long range.
+ * Recording is a couple of shifts and an array increment, with no allocation.
+ * Not thread-safe - record from a single thread.
+ */
+public class LatencyHistogram {
+    
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+    
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long totalCount = 0;
+    private long sum = 0;
+    private long min = Long.MAX_VALUE;
+    private long max = 0;
+    
+    public void record(long value) {
+        if (value < 0) value = 0;
+        counts[bucketIndex(value)]++;
+        totalCount++;
+        sum += value;
+        if (value < min) min = value;
+        if (value > max) max = value;
+    }
+    
+    public long getCount() {
+        return totalCount;
+    }
+    
+    public long getMin() {
+        return totalCount == 0 ? 0 : min;
+    }
+    
+    public long getMax() {
+        return max;
+    }
+    
+    public double getMean() {
+        return totalCount == 0 ? 0 : (double) sum / totalCount;
+    }
+    
+    /**
+     * @param percentile 0-100
+     * @return upper bound of the bucket holding that percentile, capped at the recorded maximum
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (totalCount == 0) return 0;
+        long target = Math.max(1, (long) Math.ceil(totalCount * (percentile / 100.0)));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(max, bucketUpperBound(i));
+            }
+        }
+        return max;
+    }
+    
+    public void reset() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        sum = 0;
+        min = Long.MAX_VALUE;
+        max = 0;
+    }
+    
+    public JsonObject toJson() {
+        JsonObject json = new JsonObject();
+        json.addProperty("count", totalCount);
+        json.addProperty("min", getMin());
+        json.addProperty("mean", getMean());
+        json.addProperty("p50", getValueAtPercentile(50));
+        json.addProperty("p90", getValueAtPercentile(90));
+        json.addProperty("p99", getValueAtPercentile(99));
+        json.addProperty("p999", getValueAtPercentile(99.9));
+        json.addProperty("max", max);
+        return json;
+    }
+    
+    /**
+     * One-line summary with values divided by the given unit (e.g. 1000 for ns -> us)
+     */
+    public String summary(long unit, String unitName) {
+        if (totalCount == 0) return "no samples";
+        return String.format("n=%d mean=%.1f p50=%d p99=%d max=%d %s",
+            totalCount, getMean() / unit,
+            getValueAtPercentile(50) / unit, getValueAtPercentile(99) / unit, max / unit, unitName);
+    }
+    
+    private static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+    
+    private static long bucketLowerBound(int index) {
+        if (index < SUB_BUCKETS) return index;
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int subBucket = index % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+    }
+    
+    private static long bucketUpperBound(int index) {
+        return index + 1 < BUCKET_COUNT ? bucketLowerBound(index + 1) - 1 : Long.MAX_VALUE;
+    }
+}
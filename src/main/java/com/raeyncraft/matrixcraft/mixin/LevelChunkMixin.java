@@ -0,0 +1,33 @@
+package com.raeyncraft.matrixcraft.mixin;
+
+import com.raeyncraft.matrixcraft.glass.GlassRepairSystem;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+/**
+ * Mixin to report every server-side block change to the glass repair system.
+ * All block writes (players, explosions, TacZ bullets, commands) end up in
+ * LevelChunk.setBlockState, so nothing can slip past this hook.
+ */
+@Mixin(LevelChunk.class)
+public class LevelChunkMixin {
+
+    /**
+     * The return value is the previous state, or null if nothing changed
+     */
+    @Inject(method = "setBlockState", at = @At("RETURN"))
+    private void onSetBlockState(BlockPos pos, BlockState state, boolean isMoving, CallbackInfoReturnable<BlockState> cir) {
+        BlockState oldState = cir.getReturnValue();
+        if (oldState == null || oldState == state) return;
+
+        if (((LevelChunk) (Object) this).getLevel() instanceof ServerLevel serverLevel) {
+            GlassRepairSystem.onBlockChanged(serverLevel, pos, oldState, state);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.raeyncraft.matrixcraft.registry;
+
+import com.raeyncraft.matrixcraft.MatrixCraftMod;
+import com.raeyncraft.matrixcraft.item.SafeHavenObeliskBlockEntity;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.world.level.block.entity.BlockEntityType;
+import net.neoforged.neoforge.registries.DeferredHolder;
+import net.neoforged.neoforge.registries.DeferredRegister;
+
+public class ModBlockEntities {
+
+    public static final DeferredRegister<BlockEntityType<?>> BLOCK_ENTITIES =
+            DeferredRegister.create(Registries.BLOCK_ENTITY_TYPE, MatrixCraftMod.MODID);
+
+    public static final DeferredHolder<BlockEntityType<?>, BlockEntityType<SafeHavenObeliskBlockEntity>> SAFE_HAVEN_OBELISK =
+            BLOCK_ENTITIES.register("safe_haven_obelisk",
+                () -> BlockEntityType.Builder.of(SafeHavenObeliskBlockEntity::new, ModBlocks.SAFE_HAVEN_OBELISK.get()).build(null));
+}
@@ -1,7 +1,7 @@
 package com.raeyncraft.matrixcraft.registry;
 
 import com.raeyncraft.matrixcraft.MatrixCraftMod;
-import net.minecraft.world.level.block.Block;
+import com.raeyncraft.matrixcraft.item.SafeHavenObeliskBlock;
 import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.state.BlockBehaviour;
 import net.neoforged.neoforge.registries.DeferredBlock;
@@ -12,7 +12,7 @@ public class ModBlocks {
     public static final DeferredRegister.Blocks BLOCKS =
             DeferredRegister.createBlocks(MatrixCraftMod.MODID);
 
-    public static final DeferredBlock<Block> SAFE_HAVEN_OBELISK =
+    public static final DeferredBlock<SafeHavenObeliskBlock> SAFE_HAVEN_OBELISK =
             BLOCKS.register("safe_haven_obelisk",
-                () -> new Block(BlockBehaviour.Properties.ofFullCopy(Blocks.LODESTONE)));
+                () -> new SafeHavenObeliskBlock(BlockBehaviour.Properties.ofFullCopy(Blocks.LODESTONE)));
 }
@@ -1,7 +1,8 @@
 package com.raeyncraft.matrixcraft.wallrun;
 
-import com.raeyncraft.matrixcraft.MatrixCraftMod;
 import com.raeyncraft.matrixcraft.bullettime.FocusManager;
+import com.raeyncraft.matrixcraft.log.EventCategory;
+import com.raeyncraft.matrixcraft.log.EventLog;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.world.entity.player.Player;
@@ -105,40 +106,48 @@ public class MatrixWallRunManager {
         Vec3 velocity = player.getDeltaMovement();
         double horizontalSpeed = Math.sqrt(velocity.x * velocity.x + velocity.z * velocity.z);
         
-        MatrixCraftMod.LOGGER.info("Wall run check - Speed: {}, Velocity: {}", horizontalSpeed, velocity);
+        if (EventLog.isEnabled(EventCategory.WALLRUN)) {
+            EventLog.log(EventCategory.WALLRUN, "Wall run check - Speed: {}, Velocity: {}", horizontalSpeed, velocity);
+        }
         
         if (horizontalSpeed < MIN_SPEED_THRESHOLD) {
-            MatrixCraftMod.LOGGER.info("Wall speed too low: {} < {}", horizontalSpeed, MIN_SPEED_THRESHOLD);
+            if (EventLog.isEnabled(EventCategory.WALLRUN)) {
+                EventLog.log(EventCategory.WALLRUN, "Wall speed too low: {} < {}", horizontalSpeed, MIN_SPEED_THRESHOLD);
+            }
             return false;
         }
         
         // Detect nearby wall
         WallDetectionResult wall = detectWall(player);
         if (wall == null) {
-            MatrixCraftMod.LOGGER.info("No wall detected");
+            EventLog.log(EventCategory.WALLRUN, "No wall detected");
             return false;
         }
         
-        MatrixCraftMod.LOGGER.info("Wall detected: {} at {}", wall.direction, wall.blockPos);
+        if (EventLog.isEnabled(EventCategory.WALLRUN)) {
+            EventLog.log(EventCategory.WALLRUN, "Wall detected: {} at {}", wall.direction, wall.blockPos);
+        }
         
         // Calculate approach angle
         Vec3 movementDir = new Vec3(velocity.x, 0, velocity.z).normalize();
         double approachAngle = calculateApproachAngle(movementDir, wall.normal);
         
-        MatrixCraftMod.LOGGER.info("Wall approach angle: {}", approachAngle);
+        if (EventLog.isEnabled(EventCategory.WALLRUN)) {
+            EventLog.log(EventCategory.WALLRUN, "Wall approach angle: {}", approachAngle);
+        }
         
         // Determine wall run type based on angle
         WallRunType type = null;
         
         if (approachAngle >= HORIZONTAL_MIN_ANGLE && approachAngle <= HORIZONTAL_MAX_ANGLE) {
             type = WallRunType.HORIZONTAL;
-            MatrixCraftMod.LOGGER.info("HORIZONTAL wall run triggered!");
+            EventLog.log(EventCategory.WALLRUN, "HORIZONTAL wall run triggered!");
         } else if (approachAngle >= VERTICAL_MIN_ANGLE && approachAngle <= VERTICAL_MAX_ANGLE) {
             type = WallRunType.VERTICAL;
-            MatrixCraftMod.LOGGER.info("VERTICAL wall run triggered!");
-        } else {
-            MatrixCraftMod.LOGGER.info("Wall angle not in range - H:{}-{}, V:{}-{}", 
-                HORIZONTAL_MIN_ANGLE, HORIZONTAL_MAX_ANGLE, VERTICAL_MIN_ANGLE, VERTICAL_MAX_ANGLE);
+            EventLog.log(EventCategory.WALLRUN, "VERTICAL wall run triggered!");
+        } else if (EventLog.isEnabled(EventCategory.WALLRUN)) {
+            EventLog.log(EventCategory.WALLRUN, "Wall angle {} not in range - H:{}, V:{}", approachAngle,
+                HORIZONTAL_MIN_ANGLE + "-" + HORIZONTAL_MAX_ANGLE, VERTICAL_MIN_ANGLE + "-" + VERTICAL_MAX_ANGLE);
         }
         
         if (type == null) {
@@ -178,7 +187,9 @@ public class MatrixWallRunManager {
         // Apply initial boost to start the wall run
         applyInitialBoost(player, state);
         
-        MatrixCraftMod.LOGGER.info("Wall run STARTED! Type: {}", type);
+        if (EventLog.isEnabled(EventCategory.WALLRUN)) {
+            EventLog.log(EventCategory.WALLRUN, "Wall run STARTED! Type: {}", type);
+        }
         
         return true;
     }
@@ -219,13 +230,13 @@ public class MatrixWallRunManager {
         
         WallDetectionResult wall = detectWall(player);
         if (wall == null) {
-            MatrixCraftMod.LOGGER.info("Wall run ended - no wall");
+            EventLog.log(EventCategory.WALLRUN, "Wall run ended - no wall");
             stopWallRun(player);
             return;
         }
         
         if (!wall.direction.equals(state.wallDirection)) {
-            MatrixCraftMod.LOGGER.info("Wall run ended - direction changed");
+            EventLog.log(EventCategory.WALLRUN, "Wall run ended - direction changed");
             stopWallRun(player);
             return;
         }
@@ -259,14 +270,16 @@ public class MatrixWallRunManager {
         player.setDeltaMovement(jumpVelocity);
         player.fallDistance = 0;
         
-        MatrixCraftMod.LOGGER.info("Auto wall jump executed!");
+        EventLog.log(EventCategory.WALLRUN, "Auto wall jump executed!");
     }
     
     public static void stopWallRun(Player player) {
         WallRunState state = activeWallRuns.remove(player.getUUID());
         
         if (state != null) {
-            MatrixCraftMod.LOGGER.info("Wall run stopped. Distance: {}", state.distanceTraveled);
+            if (EventLog.isEnabled(EventCategory.WALLRUN)) {
+                EventLog.log(EventCategory.WALLRUN, "Wall run stopped. Distance: {}", state.distanceTraveled);
+            }
             
             if (state.type == WallRunType.HORIZONTAL) {
                 Vec3 exitVelocity = state.runDirection.scale(0.25);